@@ -0,0 +1,81 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * concat and repeat, which are lazy: building them should be cheap and
+ * traversing them close to traversing their segments.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcatRepeatBenchmark {
+
+    @Benchmark
+    public int concatSize(Data data) {
+        return $(data.integers).concat($(data.arrayList))
+                .concat(data.integers).size();
+    }
+
+    @Benchmark
+    public Long concatReduce(Data data) {
+        return $(data.integers).concat($(data.arrayList))
+                .concat(data.integers).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long concatIterate(Data data) {
+        long sum = 0;
+        for (Integer i : $(data.integers).concat($(data.arrayList))) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public List<Integer> concatToList(Data data) {
+        return $(data.integers).concat($(data.arrayList)).toList();
+    }
+
+    @Benchmark
+    public int repeatSize(Data data) {
+        return $(data.integers).repeat(3).size();
+    }
+
+    @Benchmark
+    public Long repeatReduce(Data data) {
+        return $(data.integers).repeat(3).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long repeatIterate(Data data) {
+        long sum = 0;
+        for (Integer i : $(data.arrayList).repeat(3)) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Integer[] repeatToArray(Data data) {
+        return $(data.integers).repeat(3).toArray();
+    }
+
+    @Benchmark
+    public String repeatCharSequence(Data data) {
+        return $(data.string).repeat(3).join();
+    }
+}
@@ -0,0 +1,108 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.bitbucket.dollar.Dollar.ListWrapper;
+import org.bitbucket.dollar.Dollar.MapWrapper;
+import org.bitbucket.dollar.Dollar.SetWrapper;
+import org.bitbucket.dollar.functions.BiFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 16 threads writing to (and, for the list, summing) shared wrappers made
+ * threadSafe() (a single lock) or concurrent().
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConcurrentBenchmark {
+
+    private static final int KEYS = 1 << 16;
+
+    private static final BiFunction<Integer, Integer, Integer> SUM = new BiFunction<Integer, Integer, Integer>() {
+        @Override
+        public Integer apply(Integer x, Integer sum) {
+            return sum + x;
+        }
+    };
+
+    private MapWrapper<Integer, Integer> synchronizedMap;
+    private MapWrapper<Integer, Integer> concurrentMap;
+    private SetWrapper<Integer> synchronizedSet;
+    private SetWrapper<Integer> concurrentSet;
+    private ListWrapper<Integer> synchronizedList;
+    private ListWrapper<Integer> concurrentList;
+
+    @Setup
+    public void setUp() {
+        synchronizedMap = $(new HashMap<Integer, Integer>()).threadSafe();
+        concurrentMap = $(new HashMap<Integer, Integer>()).concurrent();
+        synchronizedSet = $(new HashSet<Integer>()).threadSafe();
+        concurrentSet = $(new HashSet<Integer>()).concurrent();
+        ArrayList<Integer> list = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+        synchronizedList = $(new ArrayList<Integer>(list)).threadSafe();
+        concurrentList = $(new ArrayList<Integer>(list)).concurrent();
+    }
+
+    private static Integer key() {
+        return ThreadLocalRandom.current().nextInt(KEYS);
+    }
+
+    @Benchmark
+    public MapWrapper<Integer, Integer> synchronizedMapAdd() {
+        Integer key = key();
+        return synchronizedMap.add(key, key);
+    }
+
+    @Benchmark
+    public MapWrapper<Integer, Integer> concurrentMapAdd() {
+        Integer key = key();
+        return concurrentMap.add(key, key);
+    }
+
+    @Benchmark
+    public SetWrapper<Integer> synchronizedSetAdd() {
+        return synchronizedSet.add(key());
+    }
+
+    @Benchmark
+    public SetWrapper<Integer> concurrentSetAdd() {
+        return concurrentSet.add(key());
+    }
+
+    /** Reads only; iterating a synchronized list needs the lock. */
+    @Benchmark
+    public Integer synchronizedListSum() {
+        synchronized (synchronizedList.toList()) {
+            return synchronizedList.reduce(0, SUM);
+        }
+    }
+
+    @Benchmark
+    public Integer concurrentListSum() {
+        return concurrentList.reduce(0, SUM);
+    }
+}
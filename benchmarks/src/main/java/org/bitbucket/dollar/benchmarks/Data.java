@@ -0,0 +1,150 @@
+package org.bitbucket.dollar.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.bitbucket.dollar.functions.BiFunction;
+import org.bitbucket.dollar.functions.Function;
+import org.bitbucket.dollar.functions.Predicate;
+import org.bitbucket.dollar.functions.TriFunction;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared input of the benchmarks: the same shuffled values 0 until size in
+ * the different containers the Dollar factories accept.
+ */
+@State(Scope.Benchmark)
+public class Data {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int size;
+
+    public Integer[] integers;
+    public int[] ints;
+    public long[] longs;
+    public double[] doubles;
+    public boolean[] booleans;
+    public Boolean[] boxedBooleans;
+    public List<Integer> arrayList;
+    public List<Integer> linkedList;
+    public Set<Integer> hashSet;
+    public Map<Integer, Integer> hashMap;
+    public String string;
+    public Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        integers = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            integers[i] = i;
+        }
+        Collections.shuffle(Arrays.asList(integers), random);
+
+        ints = new int[size];
+        longs = new long[size];
+        doubles = new double[size];
+        booleans = new boolean[size];
+        boxedBooleans = new Boolean[size];
+        char[] chars = new char[size];
+        for (int i = 0; i < size; i++) {
+            ints[i] = integers[i];
+            longs[i] = integers[i];
+            doubles[i] = integers[i];
+            booleans[i] = integers[i] % 3 == 0;
+            boxedBooleans[i] = booleans[i];
+            chars[i] = (char) ('a' + integers[i] % 26);
+        }
+        string = new String(chars);
+
+        arrayList = new ArrayList<Integer>(Arrays.asList(integers));
+        linkedList = new LinkedList<Integer>(arrayList);
+        hashSet = new HashSet<Integer>(arrayList);
+        hashMap = new HashMap<Integer, Integer>();
+        for (Integer i : integers) {
+            hashMap.put(i, i);
+        }
+    }
+
+    public static final Function<Integer, Integer> SQUARE = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer x) {
+            return x * x;
+        }
+    };
+
+    public static final Function<Integer, Integer> INCREMENT = new Function<Integer, Integer>() {
+        @Override
+        public Integer apply(Integer x) {
+            return x + 1;
+        }
+    };
+
+    public static final Function<Integer, Iterable<Integer>> TWICE = new Function<Integer, Iterable<Integer>>() {
+        @Override
+        public Iterable<Integer> apply(Integer x) {
+            return Arrays.asList(x, x);
+        }
+    };
+
+    public static final Predicate<Integer> EVEN = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer x) {
+            return (x & 1) == 0;
+        }
+    };
+
+    public static final Predicate<Boolean> TRUE = new Predicate<Boolean>() {
+        @Override
+        public boolean test(Boolean b) {
+            return b;
+        }
+    };
+
+    public static final Predicate<Integer> NEGATIVE = new Predicate<Integer>() {
+        @Override
+        public boolean test(Integer x) {
+            return x < 0;
+        }
+    };
+
+    public static final BiFunction<Integer, Long, Long> SUM = new BiFunction<Integer, Long, Long>() {
+        @Override
+        public Long apply(Integer x, Long sum) {
+            return sum + x;
+        }
+    };
+
+    public static final TriFunction<Integer, Integer, Long, Long> SUM_ENTRY = new TriFunction<Integer, Integer, Long, Long>() {
+        @Override
+        public Long apply(Integer key, Integer value, Long sum) {
+            return sum + value;
+        }
+    };
+
+    public static final BiFunction<Long, Long, Long> COMBINE = new BiFunction<Long, Long, Long>() {
+        @Override
+        public Long apply(Long x, Long y) {
+            return x + y;
+        }
+    };
+
+    public static final Comparator<Integer> DESCENDING = new Comparator<Integer>() {
+        @Override
+        public int compare(Integer x, Integer y) {
+            return y.compareTo(x);
+        }
+    };
+}
@@ -0,0 +1,117 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of wrapping each kind of input with the Dollar factories. Most of them
+ * should be constant time; the primitive array factories of the legacy
+ * wrappers (float[], char[], ...) box a copy of the array.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FactoryBenchmark {
+
+    @Benchmark
+    public Wrapper<Integer> integerArray(Data data) {
+        return $(data.integers);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> intArray(Data data) {
+        return $(data.ints);
+    }
+
+    @Benchmark
+    public Wrapper<Long> longArray(Data data) {
+        return $(data.longs);
+    }
+
+    @Benchmark
+    public Wrapper<Double> doubleArray(Data data) {
+        return $(data.doubles);
+    }
+
+    @Benchmark
+    public Wrapper<Character> charArray(Data data) {
+        return $(data.string.toCharArray());
+    }
+
+    @Benchmark
+    public Wrapper<Integer> list(Data data) {
+        return $(data.arrayList);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> set(Data data) {
+        return $(data.hashSet);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> map(Data data) {
+        return $(data.hashMap);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> enumeration(Data data) {
+        return $(Collections.enumeration(data.arrayList));
+    }
+
+    /** Reads a single element of the enumeration. */
+    @Benchmark
+    public Integer enumerationFirst(Data data) {
+        return $(Collections.enumeration(data.arrayList)).iterator().next();
+    }
+
+    @Benchmark
+    public Wrapper<Character> charSequence(Data data) {
+        return $(data.string);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> intRange(Data data) {
+        return $(0, data.size);
+    }
+
+    @Benchmark
+    public Wrapper<Long> longRange(Data data) {
+        return $(0L, (long) data.size);
+    }
+
+    @Benchmark
+    public Wrapper<BigInteger> bigIntegerRange(Data data) {
+        return $(BigInteger.ZERO, BigInteger.valueOf(data.size));
+    }
+
+    @Benchmark
+    public Wrapper<BigDecimal> bigDecimalRange(Data data) {
+        return $(BigDecimal.ZERO, BigDecimal.valueOf(data.size));
+    }
+
+    @Benchmark
+    public Wrapper<Date> dateRange(Data data) {
+        return $(new Date(0), new Date(data.size * 1000L));
+    }
+
+    @Benchmark
+    public Wrapper<Integer> randomIntegers(Data data) {
+        return $(data.random, data.size, 100);
+    }
+}
@@ -0,0 +1,113 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.bitbucket.dollar.Dollar.ComparableWrapper;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.BiFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A file of size little-endian longs, read through $(File, Long.class) or
+ * loaded to a Long[] first.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MappedBenchmark {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int size;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size * 8).order(
+                ByteOrder.LITTLE_ENDIAN);
+        Random random = new Random(42);
+        for (int i = 0; i < size; i++) {
+            buffer.putLong(random.nextInt(size));
+        }
+        file = File.createTempFile("dollar-longs", ".bin");
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(buffer.array());
+        } finally {
+            out.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    private static final BiFunction<Long, Long, Long> SUM = new BiFunction<Long, Long, Long>() {
+        @Override
+        public Long apply(Long x, Long sum) {
+            return sum + x;
+        }
+    };
+
+    private Long[] load() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size * 8).order(
+                ByteOrder.LITTLE_ENDIAN);
+        FileInputStream in = new FileInputStream(file);
+        try {
+            in.getChannel().read(buffer);
+        } finally {
+            in.close();
+        }
+        buffer.flip();
+        Long[] longs = new Long[size];
+        for (int i = 0; i < size; i++) {
+            longs[i] = buffer.getLong();
+        }
+        return longs;
+    }
+
+    @Benchmark
+    public Long reduceMapped() throws IOException {
+        return $(file, Long.class).reduce(0L, SUM);
+    }
+
+    @Benchmark
+    public Long reduceLoaded() throws IOException {
+        return $(load()).reduce(0L, SUM);
+    }
+
+    @Benchmark
+    public Long maxMapped() throws IOException {
+        return $(file, Long.class).max();
+    }
+
+    @Benchmark
+    public Wrapper<Long> sortMapped() throws IOException {
+        ComparableWrapper<Long> longs = $(file, Long.class);
+        return longs.sort();
+    }
+}
@@ -0,0 +1,305 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+import static org.bitbucket.dollar.Dollar.longMap;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.bitbucket.dollar.Dollar.BooleanWrapper;
+import org.bitbucket.dollar.Dollar.LongMapWrapper;
+import org.bitbucket.dollar.Dollar.MapWrapper;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.BiFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single Wrapper operations. sort, shuffle and reverse work in place, so they
+ * run on a copy of the input: compare them with the copy benchmarks.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class OperationBenchmark {
+
+    @Benchmark
+    public Integer[] copyIntegers(Data data) {
+        return data.integers.clone();
+    }
+
+    @Benchmark
+    public int[] copyInts(Data data) {
+        return data.ints.clone();
+    }
+
+    @Benchmark
+    public Wrapper<Integer> copy(Data data) {
+        return $(data.integers).copy();
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sort(Data data) {
+        return $(data.integers.clone()).sort();
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortWithComparator(Data data) {
+        return $(data.integers.clone()).sort(Data.DESCENDING);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortThenSlice100(Data data) {
+        return $(data.integers.clone()).sort(Data.DESCENDING).slice(100);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> top100(Data data) {
+        return $(data.integers).top(100, Data.DESCENDING);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortedPrefix100(Data data) {
+        return $(data.integers).sortedPrefix(100);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortInts(Data data) {
+        return $(data.ints.clone()).sort();
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortIntsInParallel(Data data) {
+        return $(data.ints.clone()).parallel().sort();
+    }
+
+    @Benchmark
+    public Wrapper<Long> sortLongs(Data data) {
+        return $(data.longs.clone()).sort();
+    }
+
+    @Benchmark
+    public Wrapper<Long> sortLongsInParallel(Data data) {
+        return $(data.longs.clone()).parallel().sort();
+    }
+
+    @Benchmark
+    public Wrapper<Double> sortDoubles(Data data) {
+        return $(data.doubles.clone()).sort();
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortList(Data data) {
+        return $(data.arrayList).copy().sort();
+    }
+
+    @Benchmark
+    public Wrapper<Integer> shuffle(Data data) {
+        return $(data.integers.clone()).shuffle(data.random);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> reverse(Data data) {
+        return $(data.integers.clone()).reverse();
+    }
+
+    @Benchmark
+    public String joinArray(Data data) {
+        return $(data.integers).join(",");
+    }
+
+    @Benchmark
+    public String joinInts(Data data) {
+        return $(data.ints).join(",");
+    }
+
+    @Benchmark
+    public String joinList(Data data) {
+        return $(data.arrayList).join(",");
+    }
+
+    @Benchmark
+    public String joinCharSequence(Data data) {
+        return $(data.string).join();
+    }
+
+    @Benchmark
+    public String joinCharSequenceWithSeparator(Data data) {
+        return $(data.string).join(",");
+    }
+
+    @Benchmark
+    public String joinCharRange(Data data) {
+        return $('\u0000', (char) Math.min(data.size, 0xFFFF)).join(",");
+    }
+
+    @Benchmark
+    public Integer[] toArrayFromList(Data data) {
+        return $(data.arrayList).toArray();
+    }
+
+    @Benchmark
+    public Integer[] toArrayFromSet(Data data) {
+        return $(data.hashSet).toArray();
+    }
+
+    @Benchmark
+    public List<Integer> toListFromArray(Data data) {
+        return $(data.integers).toList();
+    }
+
+    @Benchmark
+    public Set<Integer> toSetFromArray(Data data) {
+        return $(data.integers).toSet();
+    }
+
+    @Benchmark
+    public Wrapper<Integer> slice(Data data) {
+        return $(data.integers.clone()).slice(data.size / 4, data.size / 2);
+    }
+
+    @Benchmark
+    public Long reduceArray(Data data) {
+        return $(data.integers).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long reduceList(Data data) {
+        return $(data.arrayList).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long reduceLinkedList(Data data) {
+        return $(data.linkedList).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long reduceSet(Data data) {
+        return $(data.hashSet).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long reduceMapKeys(Data data) {
+        return $(data.hashMap).reduce(0L, Data.SUM);
+    }
+
+    /** Sums the values by looking up every key. */
+    @Benchmark
+    public Long reduceMapValuesByKey(Data data) {
+        final Map<Integer, Integer> map = data.hashMap;
+        return $(map).reduce(0L, new BiFunction<Integer, Long, Long>() {
+            @Override
+            public Long apply(Integer key, Long sum) {
+                return sum + map.get(key);
+            }
+        });
+    }
+
+    @Benchmark
+    public Long reduceMapValues(Data data) {
+        return $(data.hashMap).values().reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long reduceMapEntries(Data data) {
+        return $(data.hashMap).reduceEntries(0L, Data.SUM_ENTRY);
+    }
+
+    @Benchmark
+    public MapWrapper<Integer, Integer> mapValues(Data data) {
+        return $(data.hashMap).mapValues(Data.SQUARE);
+    }
+
+    /** The sorted copy sort() made before it returned an array view. */
+    @Benchmark
+    public Set<Integer> sortSetToTreeSet(Data data) {
+        return new TreeSet<Integer>(data.hashSet);
+    }
+
+    @Benchmark
+    public Long sortSetThenReduce(Data data) {
+        return $(data.hashSet).sort().reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortSetFirst10(Data data) {
+        return $(data.hashSet).sort().first(10);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> sortMapRange(Data data) {
+        return $(data.hashMap).sort().range(0, data.size / 2);
+    }
+
+    @Benchmark
+    public Map<Long, Integer> countLongsInHashMap(Data data) {
+        Map<Long, Integer> counts = new HashMap<Long, Integer>();
+        for (long value : data.longs) {
+            Integer count = counts.get(value);
+            counts.put(value, count == null ? 1 : count + 1);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public LongMapWrapper countLongsInLongMap(Data data) {
+        LongMapWrapper counts = longMap();
+        for (long value : data.longs) {
+            counts.increment(value);
+        }
+        return counts;
+    }
+
+    @Benchmark
+    public int countBoxedBooleans(Data data) {
+        return $(data.boxedBooleans).filter(Data.TRUE).size();
+    }
+
+    @Benchmark
+    public int countBooleans(Data data) {
+        return $(data.booleans).count();
+    }
+
+    @Benchmark
+    public int countBooleansAndNot(Data data) {
+        BooleanWrapper booleans = $(data.booleans);
+        return booleans.and(booleans.not()).count();
+    }
+
+    @Benchmark
+    public long sumInts(Data data) {
+        return $(data.ints).sum();
+    }
+
+    // scans every element
+    @Benchmark
+    public boolean anyMissing(Data data) {
+        return $(data.integers).any(Data.NEGATIVE);
+    }
+
+    @Benchmark
+    public int indexOfMissing(Data data) {
+        return $(data.arrayList).indexOf(Data.NEGATIVE);
+    }
+
+    @Benchmark
+    public Integer max(Data data) {
+        return $(data.integers).max();
+    }
+
+    @Benchmark
+    public Integer maxInts(Data data) {
+        return $(data.ints).max();
+    }
+}
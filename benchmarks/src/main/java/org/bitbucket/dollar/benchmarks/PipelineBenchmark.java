@@ -0,0 +1,161 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.IntFunction;
+import org.bitbucket.dollar.functions.IntPredicate;
+import org.bitbucket.dollar.functions.IntUnaryOperator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lazy map, filter and flatMap chains ending with a terminal operation. Run
+ * with -prof gc: the terminal operations push elements through the chain, so
+ * the allocation rate should not grow with the length of the chain, and the
+ * iterator benchmarks show what the per-element iterators allocate.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PipelineBenchmark {
+
+    private static final IntUnaryOperator INT_SQUARE = new IntUnaryOperator() {
+        @Override
+        public int apply(int x) {
+            return x * x;
+        }
+    };
+
+    private static final IntPredicate INT_EVEN = new IntPredicate() {
+        @Override
+        public boolean test(int x) {
+            return (x & 1) == 0;
+        }
+    };
+
+    private static final IntFunction<Integer[]> INTEGERS = new IntFunction<Integer[]>() {
+        @Override
+        public Integer[] apply(int length) {
+            return new Integer[length];
+        }
+    };
+
+    @Benchmark
+    public List<Integer> mapFilterToList(Data data) {
+        return $(data.integers).map(Data.SQUARE).filter(Data.EVEN).toList();
+    }
+
+    @Benchmark
+    public Integer[] mapFilterToArray(Data data) {
+        return $(data.integers).map(Data.SQUARE).filter(Data.EVEN).toArray();
+    }
+
+    @Benchmark
+    public Integer[] mapFilterToArrayWithGenerator(Data data) {
+        return $(data.integers).map(Data.SQUARE).filter(Data.EVEN)
+                .toArray(INTEGERS);
+    }
+
+    @Benchmark
+    public Long mapFilterReduce(Data data) {
+        return $(data.integers).map(Data.SQUARE).filter(Data.EVEN)
+                .reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long mapFilterReduceList(Data data) {
+        return $(data.arrayList).map(Data.SQUARE).filter(Data.EVEN)
+                .reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long threeMapsReduce(Data data) {
+        return $(data.integers).map(Data.INCREMENT).map(Data.INCREMENT)
+                .map(Data.INCREMENT).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Long flatMapReduce(Data data) {
+        return $(data.integers).flatMap(Data.TWICE).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public Integer[] filterSizeToArray(Data data) {
+        Wrapper<Integer> filtered = $(data.integers).filter(Data.EVEN);
+        filtered.size();
+        return filtered.toArray(INTEGERS);
+    }
+
+    @Benchmark
+    public Integer[] filterSizeToArrayMemoized(Data data) {
+        Wrapper<Integer> filtered = $(data.integers).filter(Data.EVEN)
+                .memoize();
+        filtered.size();
+        return filtered.toArray(INTEGERS);
+    }
+
+    @Benchmark
+    public int flatMapSize(Data data) {
+        return $(data.integers).flatMap(Data.TWICE).size();
+    }
+
+    @Benchmark
+    public List<Integer> mapSliceFirstPage(Data data) {
+        return $(data.integers).map(Data.SQUARE).slice(20).toList();
+    }
+
+    @Benchmark
+    public List<Integer> mapLimitFirstPage(Data data) {
+        return $(data.integers).map(Data.SQUARE).limit(20).toList();
+    }
+
+    @Benchmark
+    public boolean filterAnyMissing(Data data) {
+        return $(data.integers).filter(Data.EVEN).any(Data.NEGATIVE);
+    }
+
+    @Benchmark
+    public String mapJoin(Data data) {
+        return $(data.integers).map(Data.SQUARE).join(",");
+    }
+
+    @Benchmark
+    public long filterIterate(Data data) {
+        long sum = 0;
+        for (Integer i : $(data.integers).filter(Data.EVEN)) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long flatMapIterate(Data data) {
+        long sum = 0;
+        for (Integer i : $(data.integers).flatMap(Data.TWICE)) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Long parallelMapFilterReduce(Data data) {
+        return $(data.integers).parallel().map(Data.SQUARE).filter(Data.EVEN)
+                .parallel().reduce(0L, Data.SUM, Data.COMBINE);
+    }
+
+    @Benchmark
+    public long primitiveMapFilterSum(Data data) {
+        return $(data.ints).mapInt(INT_SQUARE).filterInt(INT_EVEN).sum();
+    }
+}
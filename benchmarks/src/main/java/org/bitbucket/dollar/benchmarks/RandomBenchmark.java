@@ -0,0 +1,80 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Generation of size random samples through the random wrappers. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RandomBenchmark {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int size;
+
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+    }
+
+    @Benchmark
+    public long integers() {
+        long sum = 0;
+        for (Integer i : $(random, size, 100)) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public Long integersReduce() {
+        return $(random, size, 100).reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public double doubles() {
+        double sum = 0;
+        for (Double d : $(random, size, 1.0)) {
+            sum += d;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int booleans() {
+        int count = 0;
+        for (Boolean b : $(random, size, true)) {
+            count += b ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Integer[] integersToArray() {
+        return $(random, size, 100).toArray();
+    }
+
+    @Benchmark
+    public String integersJoin() {
+        return $(random, size, 100).join(",");
+    }
+}
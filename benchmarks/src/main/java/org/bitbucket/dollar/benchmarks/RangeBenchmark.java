@@ -0,0 +1,184 @@
+package org.bitbucket.dollar.benchmarks;
+
+import static org.bitbucket.dollar.Dollar.$;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.bitbucket.dollar.DateField;
+import org.bitbucket.dollar.Dollar.IntRangeWrapper;
+import org.bitbucket.dollar.Dollar.LongRangeWrapper;
+import org.bitbucket.dollar.Dollar.RangeWrapper;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Ranges;
+import org.bitbucket.dollar.functions.IntBlock;
+import org.bitbucket.dollar.functions.LongBlock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Traversal of number, char and date ranges of size elements, and the range
+ * operations that should not depend on size (contains, get, slice, last).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RangeBenchmark {
+
+    @Param({ "10", "1000", "100000", "10000000" })
+    public int size;
+
+    private IntRangeWrapper<Integer> ints;
+    private LongRangeWrapper longs;
+    private RangeWrapper<BigDecimal> bigDecimals;
+    private RangeWrapper<Date> hours;
+    private RangeWrapper<Date> days;
+
+    @Setup
+    public void setUp() {
+        ints = $(0, size);
+        longs = $(0L, (long) size);
+        bigDecimals = $(BigDecimal.ZERO, BigDecimal.valueOf(size));
+        Date begin = new Date(0);
+        hours = Ranges.rangeWithStepAndField(begin, new Date(size * 3600000L),
+                1, DateField.HOUR);
+        // months and years would leave the supported dates at 10M elements
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(begin);
+        calendar.add(Calendar.DAY_OF_MONTH, Math.min(size, 1000000));
+        days = $(begin, calendar.getTime());
+    }
+
+    @Benchmark
+    public long intIterate() {
+        long sum = 0;
+        for (Integer i : ints) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long intForEachInt() {
+        final long[] sum = new long[1];
+        ints.forEachInt(new IntBlock() {
+            @Override
+            public void accept(int value) {
+                sum[0] += value;
+            }
+        });
+        return sum[0];
+    }
+
+    @Benchmark
+    public Long intReduce() {
+        return ints.reduce(0L, Data.SUM);
+    }
+
+    @Benchmark
+    public long longIterate() {
+        long sum = 0;
+        for (Long i : longs) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long longForEachLong() {
+        final long[] sum = new long[1];
+        longs.forEachLong(new LongBlock() {
+            @Override
+            public void accept(long value) {
+                sum[0] += value;
+            }
+        });
+        return sum[0];
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalIterate() {
+        BigDecimal sum = BigDecimal.ZERO;
+        for (BigDecimal i : bigDecimals) {
+            sum = sum.add(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int hourlyDateIterate() {
+        int count = 0;
+        for (Date date : hours) {
+            count += date.getSeconds();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int dailyDateIterate() {
+        int count = 0;
+        for (Date date : days) {
+            count += date.getSeconds();
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int dateSize() {
+        return days.size();
+    }
+
+    @Benchmark
+    public boolean intContains() {
+        return ints.contains(size / 2);
+    }
+
+    @Benchmark
+    public boolean longContainsBoxed() {
+        return longs.contains(Long.valueOf(size / 2));
+    }
+
+    @Benchmark
+    public boolean bigDecimalContains() {
+        return bigDecimals.contains(BigDecimal.valueOf(size / 2));
+    }
+
+    @Benchmark
+    public Long longGet() {
+        return longs.get(size / 2);
+    }
+
+    @Benchmark
+    public Long longLast() {
+        return longs.last();
+    }
+
+    @Benchmark
+    public Wrapper<Long> longSlice() {
+        return longs.slice(size / 4, size / 2);
+    }
+
+    @Benchmark
+    public Wrapper<Integer> intReverse() {
+        return ints.reverse();
+    }
+
+    @Benchmark
+    public String charRangeJoin() {
+        return $('a', 'z').join();
+    }
+}
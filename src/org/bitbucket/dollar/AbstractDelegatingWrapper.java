@@ -26,6 +26,19 @@ public abstract class AbstractDelegatingWrapper<T> extends AbstractWrapper<T>
         this.delegate = d;
     }
 
+    private Wrapper<T> update(Wrapper<T> d) {
+        delegate = d;
+        delegateChanged();
+        return this;
+    }
+
+    /**
+     * Called when a mutator (shuffle, sort, concat, reverse, fill) replaced
+     * the delegate.
+     */
+    protected void delegateChanged() {
+    }
+
     @Override
     public int size() {
         return delegate.size();
@@ -33,44 +46,37 @@ public abstract class AbstractDelegatingWrapper<T> extends AbstractWrapper<T>
 
     @Override
     public Wrapper<T> shuffle(Random random) {
-        delegate = delegate.shuffle(random);
-        return this;
+        return update(delegate.shuffle(random));
     }
 
     @Override
     public Wrapper<T> sort(Comparator<T> comparator) {
-        delegate = delegate.sort(comparator);
-        return this;
+        return update(delegate.sort(comparator));
     }
 
     @Override
     public Wrapper<T> concat(Wrapper<T> wrapper) {
-        delegate = delegate.concat(wrapper);
-        return this;
+        return update(delegate.concat(wrapper));
     }
 
     @Override
     public Wrapper<T> concat(T... items) {
-        delegate = delegate.concat(items);
-        return this;
+        return update(delegate.concat(items));
     }
 
     @Override
     public Wrapper<T> concat(Collection<T> items) {
-        delegate = delegate.concat(items);
-        return this;
+        return update(delegate.concat(items));
     }
 
     @Override
     public Wrapper<T> reverse() {
-        delegate = delegate.reverse();
-        return this;
+        return update(delegate.reverse());
     }
 
     @Override
     public Wrapper<T> fill(T object) {
-        delegate = delegate.fill(object);
-        return this;
+        return update(delegate.fill(object));
     }
 
 }
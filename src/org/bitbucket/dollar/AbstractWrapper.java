@@ -21,6 +21,8 @@ import static org.bitbucket.dollar.Dollar.not;
 
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -29,6 +31,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
 import java.util.Random;
 import java.util.Set;
 
@@ -45,6 +48,7 @@ import org.bitbucket.dollar.Dollar.Wrapper;
 import org.bitbucket.dollar.functions.BiFunction;
 import org.bitbucket.dollar.functions.Block;
 import org.bitbucket.dollar.functions.Function;
+import org.bitbucket.dollar.functions.IntFunction;
 import org.bitbucket.dollar.functions.Predicate;
 import org.bitbucket.dollar.functions.TriFunction;
 
@@ -92,6 +96,28 @@ public abstract class AbstractWrapper<T> implements Dollar.Wrapper<T> {
         return new ListWrapper<T>(toList()).slice(i, j);
     }
 
+    @Override
+    public Wrapper<T> limit(int n) {
+        Preconditions.require(n >= 0, "n must be non-negative");
+        return new LazySliceWrapper<T>(this, 0, n);
+    }
+
+    @Override
+    public Wrapper<T> skip(int n) {
+        Preconditions.require(n >= 0, "n must be non-negative");
+        return new LazySliceWrapper<T>(this, n, LazySliceWrapper.NO_LIMIT);
+    }
+
+    @Override
+    public Wrapper<T> takeWhile(Predicate<T> predicate) {
+        return new LazyTakeWhileWrapper<T>(this, predicate);
+    }
+
+    @Override
+    public Wrapper<T> dropWhile(Predicate<T> predicate) {
+        return new LazyDropWhileWrapper<T>(this, predicate);
+    }
+
     @Override
     public Wrapper<T> shuffle() {
         return shuffle(new Random());
@@ -113,6 +139,131 @@ public abstract class AbstractWrapper<T> implements Dollar.Wrapper<T> {
         return new ListWrapper<T>(this).sort(comparator);
     }
 
+    /**
+     * Same as {@link #sort()}, on several threads when the implementation
+     * supports it (by default it does not), for {@link ParallelWrapper}.
+     */
+    protected Wrapper<T> parallelSort() {
+        return sort();
+    }
+
+    /** Same as {@link #parallelSort()} for any Wrapper. */
+    static <T> Wrapper<T> parallelSort(Wrapper<T> wrapper) {
+        if (wrapper instanceof AbstractWrapper) {
+            return ((AbstractWrapper<T>) wrapper).parallelSort();
+        }
+        return wrapper.sort();
+    }
+
+    @Override
+    public Wrapper<T> top(int k, Comparator<T> comparator) {
+        Preconditions.requireNotNull(comparator, "comparator must be non-null");
+        return bottom(k, Collections.reverseOrder(comparator));
+    }
+
+    @Override
+    public Wrapper<T> bottom(int k, Comparator<T> comparator) {
+        Preconditions.require(k >= 0, "k must be non-negative");
+        Preconditions.requireNotNull(comparator, "comparator must be non-null");
+        BoundedHeap<T> heap = new BoundedHeap<T>(k, comparator, knownSize());
+        if (k > 0) {
+            push(heap);
+        }
+        return new ListWrapper<T>(heap.toList());
+    }
+
+    @Override
+    public Wrapper<T> sortedPrefix(int k) {
+        return bottom(k, AbstractWrapper.<T> naturalOrder());
+    }
+
+    /** Compares Comparable elements, with nulls last. */
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<T> naturalOrder() {
+        return (Comparator<T>) NATURAL_ORDER;
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static final Comparator<Object> NATURAL_ORDER = new Comparator<Object>() {
+        @Override
+        public int compare(Object o1, Object o2) {
+            if (o1 == null) {
+                return o2 == null ? 0 : 1;
+            }
+            if (o2 == null) {
+                return -1;
+            }
+            return ((Comparable) o1).compareTo(o2);
+        }
+    };
+
+    /**
+     * Keeps the k smallest elements pushed so far in a heap whose head is
+     * the greatest of them. The position of the elements breaks ties, so
+     * that the result is the same as a stable sort.
+     */
+    private static class BoundedHeap<T> implements Sink<T> {
+
+        private final int k;
+        private final Comparator<T> comparator;
+        private final Comparator<Ranked<T>> order;
+        private final PriorityQueue<Ranked<T>> heap;
+        private long index = 0;
+
+        BoundedHeap(int k, final Comparator<T> comparator, int size) {
+            this.k = k;
+            this.comparator = comparator;
+            this.order = new Comparator<Ranked<T>>() {
+                @Override
+                public int compare(Ranked<T> r1, Ranked<T> r2) {
+                    int c = comparator.compare(r1.item, r2.item);
+                    if (c != 0) {
+                        return c;
+                    }
+                    return r1.index < r2.index ? -1
+                            : (r1.index == r2.index ? 0 : 1);
+                }
+            };
+            int capacity = Math.min(k, size < 0 ? INITIAL_CAPACITY : size);
+            this.heap = new PriorityQueue<Ranked<T>>(Math.max(capacity, 1),
+                    Collections.reverseOrder(order));
+        }
+
+        @Override
+        public boolean accept(T item) {
+            if (heap.size() < k) {
+                heap.add(new Ranked<T>(item, index));
+            } else if (comparator.compare(item, heap.peek().item) < 0) {
+                // later elements lose ties, so equal ones are not kept
+                heap.poll();
+                heap.add(new Ranked<T>(item, index));
+            }
+            index++;
+            return true;
+        }
+
+        List<T> toList() {
+            List<Ranked<T>> ranked = new ArrayList<Ranked<T>>(heap);
+            Collections.sort(ranked, order);
+            List<T> list = new ArrayList<T>(ranked.size());
+            for (Ranked<T> r : ranked) {
+                list.add(r.item);
+            }
+            return list;
+        }
+    }
+
+    private static class Ranked<T> {
+
+        final T item;
+        final long index;
+
+        Ranked(T item, long index) {
+            this.item = item;
+            this.index = index;
+        }
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new ListWrapper<T>(this).iterator();
@@ -131,34 +282,87 @@ public abstract class AbstractWrapper<T> implements Dollar.Wrapper<T> {
     @Override
     public String join(String separator) {
         Preconditions.requireNotNull(separator, "separator must be non-null");
-        Separator sep = new Separator(separator);
-        StringBuilder sb = new StringBuilder();
+        final Joiner joiner = new Joiner(separator, knownSize());
+        push(new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                append(joiner.next(), item);
+                return true;
+            }
+        });
+        return joiner.toString();
+    }
 
-        for (T item : this) {
-            sb.append(sep).append(item);
+    /**
+     * Appends the usual boxed types through the StringBuilder methods for
+     * their primitive value, and CharSequences in bulk, instead of
+     * allocating their toString().
+     */
+    static void append(StringBuilder sb, Object item) {
+        if (item instanceof CharSequence) {
+            sb.append((CharSequence) item);
+        } else if (item instanceof Integer) {
+            sb.append(((Integer) item).intValue());
+        } else if (item instanceof Long) {
+            sb.append(((Long) item).longValue());
+        } else if (item instanceof Character) {
+            sb.append(((Character) item).charValue());
+        } else {
+            sb.append(item);
         }
-
-        return sb.toString();
     }
 
-    protected static class Separator {
+    /**
+     * Builds the result of join: next() appends the separator (but before
+     * the first element) and returns the builder, for the caller to append
+     * the element. The builder is presized from the number of elements,
+     * then from the width of the first elements once they are appended.
+     */
+    protected static final class Joiner {
 
-        private final String separator;
-        private boolean wasCalled;
+        // elements appended before estimating the final length
+        private static final int SAMPLE = 16;
+        private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
 
-        public Separator(String separator) {
+        private final String separator;
+        private final int size;
+        private final StringBuilder sb;
+        private int count = 0;
+
+        /**
+         * @param size
+         *            Number of elements, or -1 if unknown.
+         */
+        public Joiner(String separator, int size) {
             this.separator = separator;
-            this.wasCalled = false;
+            this.size = size;
+            this.sb = new StringBuilder(size < 0 ? INITIAL_CAPACITY
+                    : capacity(Math.min(size, SAMPLE), 1 + separator.length()));
+        }
+
+        /**
+         * @return capacity for count elements of the given width (separator
+         *         included), capped to the largest array.
+         */
+        public static int capacity(long count, long width) {
+            return (int) Math.min(count * width, MAX_CAPACITY);
+        }
+
+        public StringBuilder next() {
+            if (count > 0) {
+                if (count == SAMPLE && size > SAMPLE) {
+                    long estimate = (long) sb.length() * size / SAMPLE;
+                    sb.ensureCapacity(capacity(estimate + (estimate >>> 4), 1));
+                }
+                sb.append(separator);
+            }
+            count++;
+            return sb;
         }
 
         @Override
         public String toString() {
-            if (!wasCalled) {
-                wasCalled = true;
-                return "";
-            } else {
-                return separator;
-            }
+            return sb.toString();
         }
     }
 
@@ -190,12 +394,41 @@ public abstract class AbstractWrapper<T> implements Dollar.Wrapper<T> {
 
     @Override
     public T[] toArray() {
-        return iterableToArray(this, size());
+        ArrayCollector<T> collector = new ArrayCollector<T>(knownSize());
+        push(collector);
+        return collector.toArray(collector.type);
     }
 
     @Override
     public T[] toArray(Class<T> concreteClass) {
-        return iterableToArray(this, concreteClass, size());
+        ArrayCollector<T> collector = new ArrayCollector<T>(knownSize());
+        push(collector);
+        return collector.toArray(concreteClass);
+    }
+
+    @Override
+    public T[] toArray(IntFunction<T[]> generator) {
+        Preconditions.requireNotNull(generator, "generator must be non-null");
+        GeneratedArray<T> collector = new GeneratedArray<T>(generator,
+                knownSize());
+        push(collector);
+        return collector.toArray();
+    }
+
+    /**
+     * Number of elements if it can be computed without traversing them, -1
+     * otherwise (default). Used to presize buffers.
+     */
+    protected int knownSize() {
+        return -1;
+    }
+
+    /** Same as {@link #knownSize()} for any Wrapper. */
+    static int knownSize(Wrapper<?> wrapper) {
+        if (wrapper instanceof AbstractWrapper) {
+            return ((AbstractWrapper<?>) wrapper).knownSize();
+        }
+        return -1;
     }
 
     @SuppressWarnings("unchecked")
@@ -248,44 +481,63 @@ public abstract class AbstractWrapper<T> implements Dollar.Wrapper<T> {
     }
 
     @Override
-    public boolean all(Predicate<T> predicate) {
-        return findIt(not(predicate)) == null;
+    public boolean all(final Predicate<T> predicate) {
+        return push(new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                return predicate.test(item);
+            }
+        });
     }
 
     @Override
     public boolean any(Predicate<T> predicate) {
-        return findIt(predicate) != null;
+        return new Finder<T>(predicate).findIn(this);
     }
 
     @Override
     public T find(Predicate<T> predicate) {
-        T t = findIt(predicate);
-        if (t == null) {
-            throw new NoSuchElementException();
+        Finder<T> finder = new Finder<T>(predicate);
+        if (finder.findIn(this)) {
+            return finder.found;
         } else {
-            return t;
+            throw new NoSuchElementException();
         }
     }
 
-    private T findIt(Predicate<T> predicate) {
-        for (T t : this) {
-            if (predicate.test(t)) {
-                return t;
+    private static class Finder<T> implements Sink<T> {
+
+        private final Predicate<T> predicate;
+        T found;
+        int index = -1;
+
+        Finder(Predicate<T> predicate) {
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean accept(T item) {
+            index++;
+            if (predicate.test(item)) {
+                found = item;
+                return false;
             }
+            return true;
+        }
+
+        boolean findIn(AbstractWrapper<T> wrapper) {
+            return !wrapper.push(this);
         }
-        return null;
     }
 
     @Override
     public int indexOf(Predicate<T> predicate) {
-        int i = 0;
-        for (T t : this) {
-            if (predicate.test(t)) {
-                return i;
-            }
-            i++;
+        Finder<T> finder = new Finder<T>(predicate);
+        if (finder.findIn(this)) {
+            return finder.index;
+        } else {
+            return -1;
         }
-        return -1;
     }
 
     /**
@@ -307,61 +559,261 @@ public abstract class AbstractWrapper<T> implements Dollar.Wrapper<T> {
     }
 
     @Override
-    public Wrapper<T> each(Block<T> function) {
-        for (T item : this) {
-            function.accept(item);
-        }
+    public Wrapper<T> each(final Block<T> function) {
+        push(new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                function.accept(item);
+                return true;
+            }
+        });
         return this;
     }
 
     @Override
-    public <R> R reduce(R initial, BiFunction<T, R, R> function) {
-        R value = initial;
+    public <R> R reduce(R initial, final BiFunction<T, R, R> function) {
+        Reducer<T, R> reducer = new Reducer<T, R>(initial) {
+            @Override
+            public boolean accept(T item) {
+                value = function.apply(item, value);
+                return true;
+            }
+        };
+        push(reducer);
+        return reducer.value;
+    }
+
+    @Override
+    public <R, V> R reduce(R initial, final TriFunction<T, R, V, R> function,
+            final V context) {
+        Reducer<T, R> reducer = new Reducer<T, R>(initial) {
+            @Override
+            public boolean accept(T item) {
+                value = function.apply(item, value, context);
+                return true;
+            }
+        };
+        push(reducer);
+        return reducer.value;
+    }
+
+    private static abstract class Reducer<T, R> implements Sink<T> {
+
+        R value;
+
+        Reducer(R initial) {
+            this.value = initial;
+        }
+    }
+
+    /**
+     * Receives the elements pushed by {@link AbstractWrapper#push(Sink)}.
+     */
+    protected interface Sink<T> {
+
+        /** Returns false to stop the traversal. */
+        boolean accept(T item);
+    }
+
+    /**
+     * Pushes the elements, in order, to the sink until it returns false. All
+     * the terminal operations are built on this method: lazy wrappers
+     * override it to wrap the sink and push to their delegate, so a chain of
+     * map/filter/flatMap runs as a single loop over the source, without an
+     * Iterator per stage.
+     * 
+     * @return true if all the elements were pushed, false if the sink
+     *         stopped the traversal.
+     */
+    protected boolean push(Sink<T> sink) {
         for (T item : this) {
-            value = function.apply(item, value);
+            if (!sink.accept(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Same as {@link #push(Sink)} for any Iterable. */
+    static <T> boolean push(Iterable<T> iterable, Sink<T> sink) {
+        if (iterable instanceof AbstractWrapper) {
+            return ((AbstractWrapper<T>) iterable).push(sink);
+        }
+        for (T item : iterable) {
+            if (!sink.accept(item)) {
+                return false;
+            }
         }
-        return value;
+        return true;
+    }
+
+    /** Counts the elements in a single push. */
+    static <T> int count(Iterable<T> iterable) {
+        final int[] count = new int[1];
+        push(iterable, new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                count[0]++;
+                return true;
+            }
+        });
+        return count[0];
     }
 
     @Override
-    public <R, V> R reduce(R initial, TriFunction<T, R, V, R> function,
-            V context) {
-        R value = initial;
-        for (T item : this) {
-            value = function.apply(item, value, context);
+    public Dollar.ParallelWrapper<T> parallel() {
+        return new ParallelWrapper<T>(this);
+    }
+
+    @Override
+    public Wrapper<T> memoize() {
+        return new MemoizedWrapper<T>(this);
+    }
+
+    /**
+     * Splits in batches copied from iterator(), with unknown size. Wrappers
+     * with random access to their elements should override it.
+     */
+    @Override
+    public Splitter<T> splitter() {
+        return Splitters.iterator(iterator(), -1, Splitter.ORDERED);
+    }
+
+    /**
+     * Splits this wrapper in at most the given number of parts, which
+     * together contain the same elements in the same order, for
+     * {@link ParallelWrapper}. Parts must not share mutable state, so that
+     * they can be traversed from different threads.
+     * 
+     * @return null if this wrapper cannot be split efficiently (default).
+     */
+    protected List<Wrapper<T>> split(int parts) {
+        return null;
+    }
+
+    /** Same as {@link #split(int)} for any Wrapper. */
+    static <T> List<Wrapper<T>> split(Wrapper<T> wrapper, int parts) {
+        if (wrapper instanceof AbstractWrapper) {
+            return ((AbstractWrapper<T>) wrapper).split(parts);
+        }
+        return null;
+    }
+
+    /** Splits a random-access list in sub-list views. */
+    static <T> List<Wrapper<T>> splitList(List<T> list, int parts) {
+        int size = list.size();
+        parts = Math.min(parts, size);
+        List<Wrapper<T>> split = new ArrayList<Wrapper<T>>(parts);
+        for (int i = 0; i < parts; i++) {
+            split.add(new ListWrapper<T>(list.subList(
+                    partStart(size, parts, i), partStart(size, parts, i + 1))));
         }
-        return value;
+        return split;
+    }
+
+    /**
+     * Index of the first element of the i-th part, when splitting size
+     * elements in the given number of parts.
+     */
+    protected static int partStart(int size, int parts, int i) {
+        return (int) ((long) size * i / parts);
     }
 
     // helpers
+    /**
+     * Copies the elements in a single pass to an array whose component type
+     * is the most specific class common to all non-null elements.
+     * 
+     * @return null if there are no non-null elements.
+     */
     static <T> T[] iterableToArray(Iterable<T> iterable, int size) {
-        Class<?> concreteClass = null;
+        ArrayCollector<T> collector = new ArrayCollector<T>(size);
+        push(iterable, collector);
+        return collector.toArray(collector.type);
+    }
 
-        for (T item : iterable) {
-            if (item != null) {
-                concreteClass = item.getClass();
-                break;
+    static final int INITIAL_CAPACITY = 16;
+
+    static int grow(int capacity) {
+        return Math.max(capacity + (capacity >> 1), capacity + 1);
+    }
+
+    /**
+     * Buffers the elements while tracking the most specific class common to
+     * the non-null ones.
+     */
+    private static class ArrayCollector<T> implements Sink<T> {
+
+        private Object[] items;
+        private int count = 0;
+        Class<?> type = null;
+
+        ArrayCollector(int size) {
+            items = new Object[size < 0 ? INITIAL_CAPACITY : size];
+        }
+
+        @Override
+        public boolean accept(T item) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, grow(count));
+            }
+            items[count++] = item;
+            if (item != null && type != item.getClass()) {
+                if (type == null) {
+                    type = item.getClass();
+                } else {
+                    while (!type.isInstance(item)) {
+                        type = type.getSuperclass();
+                    }
+                }
             }
+            return true;
         }
 
-        return iterableToArray(iterable, concreteClass, size);
+        @SuppressWarnings("unchecked")
+        T[] toArray(Class<?> componentType) {
+            if (componentType == null) {
+                return null;
+            }
+            T[] array = (T[]) Array.newInstance(componentType, count);
+            System.arraycopy(items, 0, array, 0, count);
+            return array;
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    static <T> T[] iterableToArray(Iterable<T> iterable,
-            Class<?> concreteClass, int size) {
-        if (concreteClass == null) {
-            return null;
+    /** Buffers the elements in arrays allocated by generator. */
+    private static class GeneratedArray<T> implements Sink<T> {
+
+        private final IntFunction<T[]> generator;
+        private T[] array;
+        private int count = 0;
+
+        GeneratedArray(IntFunction<T[]> generator, int size) {
+            this.generator = generator;
+            this.array = generator.apply(size < 0 ? INITIAL_CAPACITY : size);
         }
 
-        T[] array = (T[]) Array.newInstance(concreteClass, size);
-        int i = 0;
+        @Override
+        public boolean accept(T item) {
+            if (count == array.length) {
+                resize(grow(count));
+            }
+            array[count++] = item;
+            return true;
+        }
 
-        for (T item : iterable) {
-            array[i++] = item;
+        private void resize(int length) {
+            T[] resized = generator.apply(length);
+            System.arraycopy(array, 0, resized, 0, count);
+            array = resized;
         }
 
-        return array;
+        T[] toArray() {
+            if (count != array.length) {
+                resize(count);
+            }
+            return array;
+        }
     }
 
     // extend the interface of Collection.addAll() for arrays and iterable;
@@ -369,16 +821,20 @@ public abstract class AbstractWrapper<T> implements Dollar.Wrapper<T> {
         Collections.addAll(collection, array);
     }
 
-    static <T> void addToCollection(Collection<T> collection,
+    static <T> void addToCollection(final Collection<T> collection,
             Iterable<T> iterable) {
         if (iterable instanceof Collection) {
             Collection<T> other = (Collection<T>) iterable;
             collection.addAll(other);
             return;
         }
-        for (T item : iterable) {
-            collection.add(item);
-        }
+        push(iterable, new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                collection.add(item);
+                return true;
+            }
+        });
     }
 
     // no-arg constructor
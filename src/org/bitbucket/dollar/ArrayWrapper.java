@@ -19,15 +19,20 @@ package org.bitbucket.dollar;
  */
 import java.lang.reflect.Array;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Random;
 
 import org.bitbucket.dollar.Dollar.ListWrapper;
 import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.primitives.BooleanWrapper;
+import org.bitbucket.dollar.primitives.DoubleWrapper;
+import org.bitbucket.dollar.primitives.IntWrapper;
+import org.bitbucket.dollar.primitives.LongWrapper;
+import org.bitbucket.dollar.primitives.Sorting;
 
 
 public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayWrapper<T> {
@@ -73,6 +78,31 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         }
     }
 
+    @Override
+    protected boolean push(Sink<T> sink) {
+        for (T item : array) {
+            if (!sink.accept(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        return splitList(Arrays.asList(array), parts);
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        return Splitters.array(array, Splitter.ORDERED);
+    }
+
+    @Override
+    protected int knownSize() {
+        return array.length;
+    }
+
     @Override
     public Wrapper<T> copy() {
         T[] copy = Arrays.copyOf(array, array.length);
@@ -111,28 +141,109 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         return array.length;
     }
 
+    /**
+     * Moves the nulls to the end (keeping the order of the other elements),
+     * then sorts the others with {@link #sortNonNull(int)}.
+     */
     @Override
     public Wrapper<T> sort() {
-        Arrays.sort(array, new Comparator<T>() {
-            @Override
-            public int compare(T o1, T o2) {
-                if (o1 == null)
-                    return 1;
-                if (o2 == null)
-                    return -1;
-                Comparable<T> c1 = (Comparable<T>) o1;
-                return c1.compareTo(o2);
-            }
-        });
+        sortNonNull(moveNullsLast(array));
         return this;
     }
 
+    /**
+     * Sorts array[0, length), which contains no nulls, in natural order.
+     * The wrappers of boxed primitives override it to sort primitive keys,
+     * then move the same boxes into place.
+     */
+    protected void sortNonNull(int length) {
+        Arrays.sort(array, 0, length);
+    }
+
+    /** Sort key of a non-null element, see {@link #sortByIntKey(int)}. */
+    protected int intKey(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** Sort key of a non-null element, see {@link #sortByLongKey(int)}. */
+    protected long longKey(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Sorts array[0, length) by {@link #intKey(Object)}, stably, moving the
+     * references: the elements are not replaced by new boxes. Each key is
+     * packed with the index of its element into a long, so one primitive
+     * sort ranks them.
+     */
+    protected final void sortByIntKey(int length) {
+        long[] ranked = new long[length];
+        for (int i = 0; i < length; i++) {
+            ranked[i] = (long) intKey(array[i]) << 32 | i;
+        }
+        Sorting.sort(ranked);
+        T[] original = Arrays.copyOf(array, length);
+        for (int i = 0; i < length; i++) {
+            array[i] = original[(int) ranked[i]];
+        }
+    }
+
+    /**
+     * Sorts array[0, length) by {@link #longKey(Object)}, stably, moving the
+     * references: the keys are sorted as primitives, then every element goes
+     * to the next free position of the run of its key, found by binary
+     * search.
+     */
+    protected final void sortByLongKey(int length) {
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            keys[i] = longKey(array[i]);
+        }
+        Sorting.sort(keys);
+        T[] original = Arrays.copyOf(array, length);
+        // elements placed in the run starting at each index
+        int[] placed = new int[length];
+        for (T item : original) {
+            int start = lowerBound(keys, longKey(item));
+            array[start + placed[start]++] = item;
+        }
+    }
+
+    private static int lowerBound(long[] keys, long key) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** @return the number of non-null elements. */
+    static int moveNullsLast(Object[] array) {
+        int n = 0;
+        for (Object item : array) {
+            if (item != null) {
+                array[n++] = item;
+            }
+        }
+        Arrays.fill(array, n, array.length, null);
+        return n;
+    }
+
     @Override
     public Wrapper<T> repeat(int n) {
         Preconditions.require(n > 0, "n must be positive");
-        T[] repeated = Arrays.copyOf(array, n * size());
+        Preconditions.require((long) n * array.length <= Integer.MAX_VALUE,
+                "too many repetitions");
+        T[] repeated = Arrays.copyOf(array, n * array.length);
         for (int i = 1; i < n; i++) {
-            System.arraycopy(array, 0, repeated, i * n, array.length);
+            System.arraycopy(array, 0, repeated, i * array.length,
+                    array.length);
         }
         return new ArrayWrapper<T>(repeated);
     }
@@ -158,6 +269,12 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         if (object instanceof ArrayWrapper) {
             ArrayWrapper arrayWrapper = (ArrayWrapper) object;
             return Arrays.equals(array, arrayWrapper.array);
+        } else if (object instanceof IntWrapper
+                || object instanceof LongWrapper
+                || object instanceof DoubleWrapper
+                || object instanceof BooleanWrapper) {
+            // they compare their elements with ours
+            return object.equals(this);
         } else {
             return false;
         }
@@ -258,9 +375,31 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
             super(booleans);
         }
 
+        /** A null element is stored as false. */
         @Override
         public boolean[] toBooleanArray() {
-            return (boolean[]) toUnboxedArray(boolean.class, array);
+            boolean[] booleans = new boolean[array.length];
+            for (int i = 0; i < array.length; i++) {
+                booleans[i] = array[i] != null && array[i];
+            }
+            return booleans;
+        }
+
+        // false before true, moving the references
+        @Override
+        protected void sortNonNull(int length) {
+            Boolean[] original = Arrays.copyOf(array, length);
+            int n = 0;
+            for (Boolean item : original) {
+                if (!item) {
+                    array[n++] = item;
+                }
+            }
+            for (Boolean item : original) {
+                if (item) {
+                    array[n++] = item;
+                }
+            }
         }
     }
 
@@ -305,6 +444,16 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
             return (long[]) toUnboxedArray(long.class, array);
         }
 
+
+        @Override
+        protected void sortNonNull(int length) {
+            sortByIntKey(length);
+        }
+
+        @Override
+        protected int intKey(Character item) {
+            return item;
+        }
     }
 
     public static class ByteArrayWrapper extends ComparableArrayWrapper<Byte>
@@ -362,6 +511,16 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         public double[] toDoubleArray() {
             return (double[]) toUnboxedArray(double.class, array);
         }
+
+        @Override
+        protected void sortNonNull(int length) {
+            sortByIntKey(length);
+        }
+
+        @Override
+        protected int intKey(Byte item) {
+            return item;
+        }
     }
 
     public static class ShortArrayWrapper extends ComparableArrayWrapper<Short>
@@ -400,6 +559,16 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         public double[] toDoubleArray() {
             return (double[]) toUnboxedArray(double.class, array);
         }
+
+        @Override
+        protected void sortNonNull(int length) {
+            sortByIntKey(length);
+        }
+
+        @Override
+        protected int intKey(Short item) {
+            return item;
+        }
     }
 
     public static class IntegerArrayWrapper extends
@@ -433,6 +602,16 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         public double[] toDoubleArray() {
             return (double[]) toUnboxedArray(double.class, array);
         }
+
+        @Override
+        protected void sortNonNull(int length) {
+            sortByIntKey(length);
+        }
+
+        @Override
+        protected int intKey(Integer item) {
+            return item;
+        }
     }
 
     public static class LongArrayWrapper extends ComparableArrayWrapper<Long>
@@ -461,6 +640,16 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         public double[] toDoubleArray() {
             return (double[]) toUnboxedArray(double.class, array);
         }
+
+        @Override
+        protected void sortNonNull(int length) {
+            sortByLongKey(length);
+        }
+
+        @Override
+        protected long longKey(Long item) {
+            return item;
+        }
     }
 
     public static class FloatArrayWrapper extends ComparableArrayWrapper<Float>
@@ -484,6 +673,18 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         public double[] toDoubleArray() {
             return (double[]) toUnboxedArray(double.class, array);
         }
+
+        @Override
+        protected void sortNonNull(int length) {
+            sortByIntKey(length);
+        }
+
+        @Override
+        protected int intKey(Float item) {
+            int bits = Float.floatToIntBits(item);
+            // ordered as Float.compare: flips the negative values
+            return bits ^ (bits >> 31 & 0x7fffffff);
+        }
     }
 
     public static class DoubleArrayWrapper extends
@@ -502,5 +703,17 @@ public class ArrayWrapper<T> extends AbstractWrapper<T> implements Dollar.ArrayW
         public double[] toDoubleArray() {
             return (double[]) toUnboxedArray(Double.class, array);
         }
+
+        @Override
+        protected void sortNonNull(int length) {
+            sortByLongKey(length);
+        }
+
+        @Override
+        protected long longKey(Double item) {
+            long bits = Double.doubleToLongBits(item);
+            // ordered as Double.compare: flips the negative values
+            return bits ^ (bits >> 63 & 0x7fffffffffffffffL);
+        }
     }
 }
\ No newline at end of file
@@ -81,6 +81,11 @@ public class CharSequenceWrapper extends AbstractWrapper<Character> {
         return new CharSequenceWrapper(stringBuilder.toString());
     }
 
+    @Override
+    protected int knownSize() {
+        return charSequence.length();
+    }
+
     @Override
     public int size() {
         return charSequence.length();
@@ -95,6 +100,23 @@ public class CharSequenceWrapper extends AbstractWrapper<Character> {
         }
     }
 
+    /** Copies the characters as a whole when there is no separator. */
+    @Override
+    public String join(String separator) {
+        Preconditions.requireNotNull(separator, "separator must be non-null");
+        int length = charSequence.length();
+        if (separator.length() == 0 || length == 0) {
+            return charSequence.toString();
+        }
+        StringBuilder sb = new StringBuilder(Joiner.capacity(length,
+                1 + separator.length()));
+        sb.append(charSequence.charAt(0));
+        for (int i = 1; i < length; i++) {
+            sb.append(separator).append(charSequence.charAt(i));
+        }
+        return sb.toString();
+    }
+
     @Override
     public Iterator<Character> iterator() {
         return new CharSequenceIterator(charSequence);
@@ -136,6 +158,16 @@ public class CharSequenceWrapper extends AbstractWrapper<Character> {
         }
     }
 
+    @Override
+    public Splitter<Character> splitter() {
+        return Splitters.indexed(new Splitters.Indexed<Character>() {
+            @Override
+            public Character get(int index) {
+                return charSequence.charAt(index);
+            }
+        }, charSequence.length(), Splitter.ORDERED);
+    }
+
     @Override
     public Wrapper<Character> sort() {
         return new CharArrayWrapper(charSequenceToArray(charSequence)).sort();
@@ -0,0 +1,47 @@
+package org.bitbucket.dollar;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+
+/**
+ * Read-through wrapper of a Collection view, like the values or the entries
+ * of a Map: the operations walk the collection itself, which is not copied.
+ */
+public class CollectionWrapper<T> extends AbstractWrapper<T> {
+
+    private final Collection<T> collection;
+
+    public CollectionWrapper(Collection<T> collection) {
+        this.collection = Preconditions.requireNotNull(collection,
+                "collection must be non-null");
+    }
+
+    /** Copies the elements to a list. */
+    @Override
+    public Wrapper<T> copy() {
+        return new ListWrapper<T>(new ArrayList<T>(collection));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return collection.iterator();
+    }
+
+    @Override
+    protected int knownSize() {
+        return collection.size();
+    }
+
+    @Override
+    public int size() {
+        return collection.size();
+    }
+
+    @Override
+    public String toString() {
+        return collection.toString();
+    }
+}
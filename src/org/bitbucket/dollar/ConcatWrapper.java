@@ -17,51 +17,68 @@ package org.bitbucket.dollar;
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
 
-import org.bitbucket.dollar.Dollar.ListWrapper;
 import org.bitbucket.dollar.Dollar.Wrapper;
 
 // inspired by:
 //   - my friend Mauro Codella
 //   - http://stackoverflow.com/questions/2494031
+/**
+ * Lazy concatenation: keeps a reference to every concatenated segment and
+ * iterates them in sequence. Elements are only copied (once) when an
+ * operation needs to reorder them, like reverse() or shuffle().
+ */
 public class ConcatWrapper<T> extends AbstractWrapper<T> {
 
-    // TODO: must be lazy
-    private final List<T> list;
+    private final List<Iterable<T>> segments;
+
+    // segments are copied here by materialize(), then it is the only segment
+    private List<T> materialized;
 
     public ConcatWrapper() {
-        this(new LinkedList<T>());
+        this.segments = new ArrayList<Iterable<T>>();
     }
 
     public ConcatWrapper(List<T> list) {
         Preconditions.requireNotNull(list , "list must be non-null");
-        this.list = list;
+        this.segments = new ArrayList<Iterable<T>>();
+        segments.add(list);
+    }
+
+    private ConcatWrapper(List<Iterable<T>> segments, boolean ignored) {
+        this.segments = segments;
     }
 
     @Override
     public Wrapper<T> concat(Collection<T> items) {
         Preconditions.requireNotNull(items , "items must be non-null");
-        addToCollection(list, items);
+        segments.add(items);
         return this;
     }
 
     @Override
     public Wrapper<T> concat(T... items) {
         Preconditions.requireNotNull(items , "items must be non-null");
-        addToCollection(list, items);
+        segments.add(Arrays.asList(items));
         return this;
     }
 
     @Override
     public Wrapper<T> concat(Wrapper<T> wrapper) {
-        if (wrapper != null) {
-            addToCollection(list, wrapper);
+        if (wrapper == this) {
+            // a snapshot, otherwise this would contain itself forever
+            segments.add(new ConcatWrapper<T>(
+                    new ArrayList<Iterable<T>>(segments), true));
+        } else if (wrapper != null) {
+            segments.add(wrapper);
         }
 
         return this;
@@ -69,45 +86,160 @@ public class ConcatWrapper<T> extends AbstractWrapper<T> {
 
     @Override
     public Iterator<T> iterator() {
-        return list.iterator();
+        return new ConcatIterator<T>(segments.iterator());
+    }
+
+    private static class ConcatIterator<T> implements Iterator<T> {
+
+        private final Iterator<Iterable<T>> segments;
+        private Iterator<T> current;
+        // hasNext() may move current on to the next segment
+        private Iterator<T> lastReturned;
+
+        public ConcatIterator(Iterator<Iterable<T>> segments) {
+            this.segments = segments;
+            this.current = null;
+            this.lastReturned = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (current == null || !current.hasNext()) {
+                if (!segments.hasNext()) {
+                    return false;
+                }
+                current = segments.next().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            lastReturned = current;
+            return current.next();
+        }
+
+        @Override
+        public void remove() {
+            if (lastReturned == null) {
+                throw new IllegalStateException();
+            }
+            lastReturned.remove();
+            lastReturned = null;
+        }
+    }
+
+    @Override
+    protected boolean push(Sink<T> sink) {
+        for (Iterable<T> segment : segments) {
+            if (!push(segment, sink)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Copies all the elements once; afterwards they are the only segment. */
+    private List<T> materialize() {
+        if (materialized == null || segments.size() != 1
+                || segments.get(0) != materialized) {
+            List<T> list = new ArrayList<T>(size());
+            for (Iterable<T> segment : segments) {
+                addToCollection(list, segment);
+            }
+            segments.clear();
+            segments.add(list);
+            materialized = list;
+        }
+        return materialized;
     }
 
     @Override
     public Wrapper<T> copy() {
-        List<T> copy = new LinkedList<T>();
-        addToCollection(copy, this);
-        return new ConcatWrapper<T>(copy);
+        List<Iterable<T>> copy = new ArrayList<Iterable<T>>(segments.size());
+        for (Iterable<T> segment : segments) {
+            if (segment instanceof Wrapper) {
+                copy.add(((Wrapper<T>) segment).copy());
+            } else {
+                List<T> list = new ArrayList<T>();
+                addToCollection(list, segment);
+                copy.add(list);
+            }
+        }
+        return new ConcatWrapper<T>(copy, true);
     }
 
     @Override
     public Wrapper<T> reverse() {
-        Collections.reverse(list);
+        Collections.reverse(materialize());
         return this;
     }
 
     @Override
     public Wrapper<T> shuffle(Random random) {
         Preconditions.requireNotNull(random , "random must be non-null");
-        Collections.shuffle(list, random);
+        Collections.shuffle(materialize(), random);
         return this;
     }
 
     @Override
     public int size() {
-        return list.size();
+        int size = 0;
+        for (Iterable<T> segment : segments) {
+            size += sizeOf(segment);
+        }
+        return size;
     }
 
     @Override
-    public List<T> toList() {
-        return list;
+    protected int knownSize() {
+        int size = 0;
+        for (Iterable<T> segment : segments) {
+            int segmentSize = -1;
+            if (segment instanceof Wrapper) {
+                segmentSize = knownSize((Wrapper<T>) segment);
+            } else if (segment instanceof Collection) {
+                segmentSize = ((Collection<T>) segment).size();
+            }
+            if (segmentSize < 0) {
+                return -1;
+            }
+            size += segmentSize;
+        }
+        return size;
+    }
+
+    private static <T> int sizeOf(Iterable<T> segment) {
+        if (segment instanceof Wrapper) {
+            return ((Wrapper<T>) segment).size();
+        } else if (segment instanceof Collection) {
+            return ((Collection<T>) segment).size();
+        }
+        int size = 0;
+        for (Iterator<T> it = segment.iterator(); it.hasNext(); it.next()) {
+            size++;
+        }
+        return size;
     }
 
     @SuppressWarnings("rawtypes")
     @Override
     public boolean equals(Object object) {
         if (object instanceof ConcatWrapper) {
-            ConcatWrapper concatWrapper = (ConcatWrapper) object;
-            return list.equals(concatWrapper.list);
+            Iterator mine = iterator();
+            Iterator other = ((ConcatWrapper) object).iterator();
+            while (mine.hasNext() && other.hasNext()) {
+                Object o1 = mine.next();
+                Object o2 = other.next();
+                if (o1 == null ? o2 != null : !o1.equals(o2)) {
+                    return false;
+                }
+            }
+            return !mine.hasNext() && !other.hasNext();
         } else {
             return false;
         }
@@ -115,8 +247,12 @@ public class ConcatWrapper<T> extends AbstractWrapper<T> {
 
     @Override
     public int hashCode() {
+        int listHash = 1;
+        for (T item : this) {
+            listHash = 31 * listHash + (item == null ? 0 : item.hashCode());
+        }
         int hash = 11;
-        hash *= 59 + list.hashCode();
+        hash *= 59 + listHash;
         return hash;
     }
 }
@@ -17,8 +17,12 @@ package org.bitbucket.dollar;
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.charset.Charset;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -33,9 +37,23 @@ import java.util.Set;
 
 import org.bitbucket.dollar.functions.BiFunction;
 import org.bitbucket.dollar.functions.Block;
+import org.bitbucket.dollar.functions.DoubleBinaryOperator;
+import org.bitbucket.dollar.functions.DoublePredicate;
+import org.bitbucket.dollar.functions.DoubleUnaryOperator;
 import org.bitbucket.dollar.functions.Function;
+import org.bitbucket.dollar.functions.IntBinaryOperator;
+import org.bitbucket.dollar.functions.IntBlock;
+import org.bitbucket.dollar.functions.IntFunction;
+import org.bitbucket.dollar.functions.IntPredicate;
+import org.bitbucket.dollar.functions.IntUnaryOperator;
+import org.bitbucket.dollar.functions.LongBinaryOperator;
+import org.bitbucket.dollar.functions.LongBlock;
+import org.bitbucket.dollar.functions.LongPredicate;
+import org.bitbucket.dollar.functions.LongUnaryOperator;
 import org.bitbucket.dollar.functions.Predicate;
 import org.bitbucket.dollar.functions.TriFunction;
+import org.bitbucket.dollar.primitives.MappedWrapper;
+import org.bitbucket.dollar.primitives.PrimitiveIterator;
 import org.bitbucket.dollar.randoms.RandomBooleanWrapper;
 import org.bitbucket.dollar.randoms.RandomDoubleWrapper;
 import org.bitbucket.dollar.randoms.RandomFloatWrapper;
@@ -104,6 +122,29 @@ public final class Dollar {
 		/** Sorts with given (Comparator). */
 		Wrapper<T> sort(Comparator<T> comparator);
 
+		/**
+		 * The k greatest elements according to comparator, greatest first;
+		 * equal elements keep their order. Traverses this wrapper once,
+		 * keeping at most k elements in a heap.
+		 */
+		Wrapper<T> top(int k, Comparator<T> comparator);
+
+		/**
+		 * The k smallest elements according to comparator, smallest first;
+		 * the same as sort(comparator).slice(k) without sorting (or copying)
+		 * everything.
+		 */
+		Wrapper<T> bottom(int k, Comparator<T> comparator);
+
+		/**
+		 * The first k elements of sort(), with nulls last: see
+		 * {@link #bottom(int, Comparator)}.
+		 * 
+		 * @throws ClassCastException
+		 *             If an element does not implement Comparable.
+		 */
+		Wrapper<T> sortedPrefix(int k) throws ClassCastException;
+
 		/** Append a wrapper to this one. */
 		Wrapper<T> concat(Wrapper<T> wrapper);
 
@@ -134,6 +175,27 @@ public final class Dollar {
 		 */
 		Wrapper<T> slice(int i, int j);
 
+		/**
+		 * The first n elements (all of them if fewer). Lazy implementation:
+		 * stops pulling from this wrapper after the n-th element.
+		 */
+		Wrapper<T> limit(int n);
+
+		/** All but the first n elements. Lazy implementation. */
+		Wrapper<T> skip(int n);
+
+		/**
+		 * The elements before the first one not satisfying predicate. Lazy
+		 * implementation: stops pulling from this wrapper at that element.
+		 */
+		Wrapper<T> takeWhile(Predicate<T> predicate);
+
+		/**
+		 * The elements from the first one not satisfying predicate onwards.
+		 * Lazy implementation.
+		 */
+		Wrapper<T> dropWhile(Predicate<T> predicate);
+
 		/**
 		 * Consume the wrapper in order to build a list (by default a
 		 * LinkedList).
@@ -157,7 +219,11 @@ public final class Dollar {
 		@SuppressWarnings("rawtypes")
 		Set<T> toSet(Class<? extends Set> concreteSetClass);
 
-		/** Consume this wrapper into a newly allocated array. */
+		/**
+		 * Consume this wrapper into a newly allocated array, whose component
+		 * type is the most specific class common to the non-null elements.
+		 * Returns null if there are no non-null elements.
+		 */
 		T[] toArray();
 
 		/**
@@ -166,6 +232,14 @@ public final class Dollar {
 		 */
 		T[] toArray(Class<T> elementClass);
 
+		/**
+		 * Copies the elements in a single pass to arrays allocated by the
+		 * generator, without reflection. The generator is called with the
+		 * length of the array to allocate: once with the exact size when it
+		 * is known without traversing, otherwise also to grow and trim.
+		 */
+		T[] toArray(IntFunction<T[]> generator);
+
 		/** Prepare this wrapper to be converted to array. */
 		ArrayWrapper<T> toArrayWrapper();
 
@@ -243,6 +317,78 @@ public final class Dollar {
 
 		/** Reduce boils down a list of values into a single value. */
 		<R, V> R reduce(R initial, TriFunction<T, R, V, R> function, V context);
+
+		/**
+		 * Runs the terminal operations of the returned wrapper (and of the
+		 * wrappers obtained from it through map, filter, reject and flatMap)
+		 * on several threads, when this wrapper can be split: arrays,
+		 * random-access lists, number ranges and filled wrappers. Otherwise
+		 * they run serially.
+		 */
+		ParallelWrapper<T> parallel();
+
+		/**
+		 * Traverses and splits the elements of this wrapper, with exact size
+		 * and characteristics when they are known. It can feed Java 8 streams
+		 * since the characteristics match those of Spliterator.
+		 */
+		Splitter<T> splitter();
+
+		/**
+		 * Records the elements on the first complete traversal, so that size,
+		 * toArray and later traversals do not call the functions of lazy
+		 * map, filter or flatMap again. Dropped by concat, reverse, fill,
+		 * sort and shuffle on the returned wrapper; changes made to the
+		 * source by other means are not seen once recorded.
+		 */
+		Wrapper<T> memoize();
+	}
+
+	/**
+	 * Wrapper whose terminal operations run on several threads. The
+	 * functions given to each, any, all, find, indexOf and reduce must be
+	 * thread-safe; each calls its function in no particular order, the
+	 * others keep the order of the elements.
+	 */
+	public static interface ParallelWrapper<T> extends Wrapper<T> {
+
+		/**
+		 * Reduces every part of this wrapper starting from initial, then
+		 * combines the partial results in order.
+		 * 
+		 * @param initial
+		 *            Identity of the combiner, since it is used once per part.
+		 * @param combiner
+		 *            Merges two partial results; must be associative.
+		 */
+		<R> R reduce(R initial, BiFunction<T, R, R> function,
+				BiFunction<R, R, R> combiner);
+
+		/*
+		 * the intermediate operations stay parallel, so that the terminal
+		 * operation after them still runs on several threads
+		 */
+
+		@Override
+		<R> ParallelWrapper<R> map(Function<T, R> function);
+
+		@Override
+		<R> ParallelWrapper<R> flatMap(Function<T, Iterable<R>> function);
+
+		@Override
+		ParallelWrapper<T> filter(Predicate<T> predicate);
+
+		@Override
+		ParallelWrapper<T> reject(Predicate<T> predicate);
+
+		@Override
+		ParallelWrapper<T> limit(int n);
+
+		@Override
+		ParallelWrapper<T> skip(int n);
+
+		@Override
+		ParallelWrapper<T> memoize();
 	}
 
 	/**
@@ -341,6 +487,41 @@ public final class Dollar {
 		boolean[] toBooleanArray();
 	}
 
+	/**
+	 * Wrapper backed by a bitset (64 booleans per long): all, any, count and
+	 * the logical operations work a word at a time.
+	 */
+	public static interface BooleanWrapper extends BooleanArrayWrapper {
+
+		boolean get(int index) throws IndexOutOfBoundsException;
+
+		/** true if every element is true (or if empty). */
+		boolean all();
+
+		/** true if an element is true. */
+		boolean any();
+
+		/** Number of true elements. */
+		int count();
+
+		/**
+		 * Logical and of the elements at the same index, into a new wrapper.
+		 * 
+		 * @param other
+		 *            Wrapper of the same size.
+		 */
+		BooleanWrapper and(BooleanWrapper other);
+
+		/** Same as {@link #and(BooleanWrapper)} with a logical or. */
+		BooleanWrapper or(BooleanWrapper other);
+
+		/** Same as {@link #and(BooleanWrapper)} with an exclusive or. */
+		BooleanWrapper xor(BooleanWrapper other);
+
+		/** Negation of every element, into a new wrapper. */
+		BooleanWrapper not();
+	}
+
 	public static interface FloatArrayWrapper extends ComparableWrapper<Float> {
 
 		float[] toFloatArray();
@@ -354,6 +535,67 @@ public final class Dollar {
 		double[] toDoubleArray();
 	}
 
+	/**
+	 * Wrapper backed by an int[]: mapInt, filterInt, reduce, sort, min, max
+	 * and sum work on the primitive values without boxing. The distinct names
+	 * keep map(Function) and filter(Predicate) unambiguous for lambdas.
+	 */
+	public static interface IntWrapper extends IntegerArrayWrapper {
+
+		/** Applies operator to every element, eagerly, into a new int[]. */
+		IntWrapper mapInt(IntUnaryOperator operator);
+
+		/** Keeps the elements satisfying predicate, eagerly, into a new int[]. */
+		IntWrapper filterInt(IntPredicate predicate);
+
+		/** Folds the elements from first to last, starting from identity. */
+		int reduce(int identity, IntBinaryOperator operator);
+
+		/** Sum of the elements, 0 if empty. */
+		long sum();
+	}
+
+	/**
+	 * Wrapper backed by a long[]: mapLong, filterLong, reduce, sort, min, max
+	 * and sum work on the primitive values without boxing.
+	 */
+	public static interface LongWrapper extends LongArrayWrapper {
+
+		/** Applies operator to every element, eagerly, into a new long[]. */
+		LongWrapper mapLong(LongUnaryOperator operator);
+
+		/** Keeps the elements satisfying predicate, eagerly, into a new long[]. */
+		LongWrapper filterLong(LongPredicate predicate);
+
+		/** Folds the elements from first to last, starting from identity. */
+		long reduce(long identity, LongBinaryOperator operator);
+
+		/** Sum of the elements, 0 if empty. */
+		long sum();
+	}
+
+	/**
+	 * Wrapper backed by a double[]: mapDouble, filterDouble, reduce, sort,
+	 * min, max and sum work on the primitive values without boxing.
+	 */
+	public static interface DoubleWrapper extends DoubleArrayWrapper {
+
+		/** Applies operator to every element, eagerly, into a new double[]. */
+		DoubleWrapper mapDouble(DoubleUnaryOperator operator);
+
+		/**
+		 * Keeps the elements satisfying predicate, eagerly, into a new
+		 * double[].
+		 */
+		DoubleWrapper filterDouble(DoublePredicate predicate);
+
+		/** Folds the elements from first to last, starting from identity. */
+		double reduce(double identity, DoubleBinaryOperator operator);
+
+		/** Sum of the elements, 0 if empty. */
+		double sum();
+	}
+
 	public static interface ArrayWrapper<T> extends Wrapper<T> {
 
 	}
@@ -412,9 +654,9 @@ public final class Dollar {
 				components);
 	}
 
-	public static BooleanArrayWrapper $(boolean[] components) {
-		return new org.bitbucket.dollar.ArrayWrapper.BooleanArrayWrapper(
-				components);
+	/** Packs the array into a bitset. */
+	public static BooleanWrapper $(boolean[] components) {
+		return new org.bitbucket.dollar.primitives.BooleanWrapper(components);
 	}
 
 	public static ByteArrayWrapper $(byte[] components) {
@@ -427,14 +669,14 @@ public final class Dollar {
 				components);
 	}
 
-	public static IntegerArrayWrapper $(int[] components) {
-		return new org.bitbucket.dollar.ArrayWrapper.IntegerArrayWrapper(
-				components);
+	/** Wraps the array itself: nothing is boxed up front. */
+	public static IntWrapper $(int[] components) {
+		return new org.bitbucket.dollar.primitives.IntWrapper(components);
 	}
 
-	public static LongArrayWrapper $(long[] components) {
-		return new org.bitbucket.dollar.ArrayWrapper.LongArrayWrapper(
-				components);
+	/** Wraps the array itself: nothing is boxed up front. */
+	public static LongWrapper $(long[] components) {
+		return new org.bitbucket.dollar.primitives.LongWrapper(components);
 	}
 
 	public static FloatArrayWrapper $(float[] components) {
@@ -442,9 +684,85 @@ public final class Dollar {
 				components);
 	}
 
-	public static DoubleArrayWrapper $(double[] components) {
-		return new org.bitbucket.dollar.ArrayWrapper.DoubleArrayWrapper(
-				components);
+	/**
+	 * Wraps the array itself: nothing is boxed up front. sort, reverse,
+	 * shuffle and fill copy it first, so the array is left unchanged.
+	 */
+	public static DoubleWrapper $(double[] components) {
+		return new org.bitbucket.dollar.primitives.DoubleWrapper(components);
+	}
+
+	/**
+	 * Wrapper reading its elements from a resource, such as a file, on every
+	 * traversal. Terminal operations release the resource when they return;
+	 * close() releases it for the iterators not exhausted yet.
+	 */
+	public static interface CloseableWrapper<T> extends Wrapper<T>, Closeable {
+
+		/** Does not throw IOException. */
+		@Override
+		void close();
+	}
+
+	/**
+	 * Streams the lines of file, decoded with the default charset, without
+	 * loading it in memory; see {@link FileLinesWrapper}.
+	 */
+	public static CloseableWrapper<String> lines(File file) {
+		return lines(file, Charset.defaultCharset());
+	}
+
+	/** Streams the lines of file, decoded with charset. */
+	public static CloseableWrapper<String> lines(File file, Charset charset) {
+		return records(file, charset, Dollar.<String> identity());
+	}
+
+	/**
+	 * Streams the lines of file, decoded with the default charset, each
+	 * parsed to a record by parser.
+	 */
+	public static <T> CloseableWrapper<T> records(File file,
+			Function<String, T> parser) {
+		return records(file, Charset.defaultCharset(), parser);
+	}
+
+	/**
+	 * Streams the lines of file, decoded with charset, each parsed to a
+	 * record by parser.
+	 */
+	public static <T> CloseableWrapper<T> records(File file, Charset charset,
+			Function<String, T> parser) {
+		return new FileLinesWrapper<T>(file, charset, parser,
+				FileLinesWrapper.DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Wraps a file of little-endian ints, longs, floats or doubles through
+	 * read-only memory mappings, without loading it on the heap; see
+	 * {@link MappedWrapper}.
+	 * 
+	 * @param type
+	 *            Integer, Long, Float or Double (or the primitive class).
+	 * @throws IllegalArgumentException
+	 *             If type is not supported or if the file length is not a
+	 *             multiple of the size of type.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T extends Number & Comparable<T>> ComparableWrapper<T> $(
+			File file, Class<T> type) throws IOException {
+		Class<?> t = Preconditions.requireNotNull(type,
+				"type must be non-null");
+		if (t == Integer.class || t == int.class) {
+			return (ComparableWrapper<T>) new MappedWrapper.Ints(file);
+		} else if (t == Long.class || t == long.class) {
+			return (ComparableWrapper<T>) new MappedWrapper.Longs(file);
+		} else if (t == Float.class || t == float.class) {
+			return (ComparableWrapper<T>) new MappedWrapper.Floats(file);
+		} else if (t == Double.class || t == double.class) {
+			return (ComparableWrapper<T>) new MappedWrapper.Doubles(file);
+		}
+		throw new IllegalArgumentException("unsupported type: "
+				+ type.getName());
 	}
 
 	/**
@@ -484,6 +802,17 @@ public final class Dollar {
 		 */
 		ListWrapper<T> threadSafe();
 
+		/**
+		 * Replaces the wrapped list with a copy-on-write copy. Reads and
+		 * iterations take no lock and see a snapshot of the list, so they are
+		 * safe while other threads write; each write copies the list. Suited
+		 * to lists read much more often than written. Call it before sharing
+		 * the wrapper with other threads.
+		 * 
+		 * @return this ListWrapper.
+		 */
+		ListWrapper<T> concurrent();
+
 		/**
 		 * Makes the list an unmodifiable copy of the wrapped list.
 		 */
@@ -504,7 +833,8 @@ public final class Dollar {
 	}
 
 	/**
-	 * Consumes the given enumeration and wraps it.
+	 * Wraps the given enumeration; its elements are read on demand, as far as
+	 * the operations go, and kept for the next operations.
 	 * 
 	 * @param enumer
 	 *            Enumeration to wrap.
@@ -557,6 +887,14 @@ public final class Dollar {
 		@Override
 		SetWrapper<T> copy();
 
+		/**
+		 * Sorted view of the elements, in natural order.
+		 * 
+		 * @see SortedWrapper
+		 */
+		@Override
+		SortedWrapper<T> sort() throws ClassCastException;
+
 		/**
 		 * Adds an item to the wrapped Set.
 		 * 
@@ -582,6 +920,17 @@ public final class Dollar {
 		 */
 		SetWrapper<T> threadSafe();
 
+		/**
+		 * Replaces the wrapped Set with a concurrent copy (a skip-list set if
+		 * the Set is sorted, a set backed by a ConcurrentHashMap otherwise).
+		 * Writes do not block each other behind a single lock and iterations
+		 * are weakly consistent: they never fail while other threads write.
+		 * Null elements are not permitted.
+		 * 
+		 * @return this wrapper.
+		 */
+		SetWrapper<T> concurrent();
+
 		/**
 		 * Calls {@link Collections#unmodifiableSet(Set)} on the wrapped Set.
 		 * 
@@ -613,6 +962,14 @@ public final class Dollar {
 	 */
 	public static interface MapWrapper<K, V> extends Wrapper<K> {
 
+		/**
+		 * Sorted view of the keys, in natural order.
+		 * 
+		 * @see SortedWrapper
+		 */
+		@Override
+		SortedWrapper<K> sort() throws ClassCastException;
+
 		/**
 		 * Adds a key/value pair to the wrapped Map.
 		 * 
@@ -627,6 +984,17 @@ public final class Dollar {
 		 */
 		MapWrapper<K, V> threadSafe();
 
+		/**
+		 * Replaces the wrapped Map with a concurrent copy (a
+		 * ConcurrentSkipListMap if the Map is sorted, a ConcurrentHashMap
+		 * otherwise). Writes do not block each other behind a single lock and
+		 * iterations are weakly consistent: they never fail while other threads
+		 * write. Null keys and values are not permitted.
+		 * 
+		 * @return this wrapper.
+		 */
+		MapWrapper<K, V> concurrent();
+
 		/**
 		 * Calls {@link Collections#unmodifiableMap(Map)} on the wrapped Map.
 		 * 
@@ -653,12 +1021,228 @@ public final class Dollar {
 		 * @return the wrapped Map instance.
 		 */
 		Map<K, V> toMap();
+
+		/**
+		 * Wraps the entry set of the Map, without copying it: keys and values
+		 * are read together, with no lookup per key.
+		 * 
+		 * @return a wrapper of the Map entries.
+		 */
+		Wrapper<Map.Entry<K, V>> entries();
+
+		/**
+		 * Wraps the values of the Map, without copying them.
+		 * 
+		 * @return a wrapper of the Map values.
+		 */
+		Wrapper<V> values();
+
+		/**
+		 * Applies the function to every value, in a single pass over the
+		 * entries.
+		 * 
+		 * @param function
+		 *            Function to apply to the values.
+		 * @return a wrapper of a new Map with the same keys (and the same
+		 *         ordering) and the results of the function as values.
+		 */
+		<R> MapWrapper<K, R> mapValues(Function<V, R> function);
+
+		/**
+		 * Keeps the entries matching the predicate, in a single pass over the
+		 * entries.
+		 * 
+		 * @param predicate
+		 *            Predicate the kept entries match.
+		 * @return a wrapper of a new Map (with the same ordering) of the
+		 *         matching entries.
+		 */
+		MapWrapper<K, V> filterEntries(Predicate<Map.Entry<K, V>> predicate);
+
+		/**
+		 * Reduces the entries with the function, applied to the key, the
+		 * value and the result so far.
+		 * 
+		 * @param initial
+		 *            Initial result.
+		 * @param function
+		 *            Function combining an entry and the result so far.
+		 * @return the final result.
+		 */
+		<R> R reduceEntries(R initial, TriFunction<K, V, R, R> function);
 	}
 
 	public static <K, V> MapWrapper<K, V> $(Map<K, V> map) {
 		return new org.bitbucket.dollar.MapWrapper<K, V>(map);
 	}
 
+	/**
+	 * Map from int keys to int values backed by primitive arrays: add, get,
+	 * increment and merge never box. As a Wrapper it iterates the keys.
+	 */
+	public static interface IntMapWrapper extends MapWrapper<Integer, Integer> {
+
+		/** Copies the arrays into a new map. */
+		@Override
+		IntMapWrapper copy();
+
+		/** Puts the value for the key. */
+		IntMapWrapper add(int key, int value);
+
+		/** @return the value of the key, or defaultValue if it is missing. */
+		int get(int key, int defaultValue);
+
+		boolean containsKey(int key);
+
+		/** Same as increment(key, 1). */
+		int increment(int key);
+
+		/**
+		 * Adds delta to the value of the key, 0 if it is missing.
+		 * 
+		 * @return the new value.
+		 */
+		int increment(int key, int delta);
+
+		/**
+		 * Puts value for a missing key, operator(old value, value) otherwise.
+		 * 
+		 * @return the new value.
+		 */
+		int merge(int key, int value, IntBinaryOperator operator);
+
+		/** Makes every operation lock the map. */
+		@Override
+		IntMapWrapper threadSafe();
+
+		/** Same as {@link #threadSafe()}. */
+		@Override
+		IntMapWrapper concurrent();
+
+		/** Makes the writes throw UnsupportedOperationException. */
+		@Override
+		IntMapWrapper immutable();
+	}
+
+	/** @return an empty map from int keys to int values. */
+	public static IntMapWrapper intMap() {
+		return new org.bitbucket.dollar.primitives.IntMapWrapper();
+	}
+
+	/**
+	 * @return an empty map from int keys to int values, sized to hold
+	 *         expectedSize keys without growing.
+	 */
+	public static IntMapWrapper intMap(int expectedSize) {
+		return new org.bitbucket.dollar.primitives.IntMapWrapper(expectedSize);
+	}
+
+	/**
+	 * Map from long keys to int values backed by primitive arrays: add, get,
+	 * increment and merge never box. As a Wrapper it iterates the keys.
+	 */
+	public static interface LongMapWrapper extends MapWrapper<Long, Integer> {
+
+		/** Copies the arrays into a new map. */
+		@Override
+		LongMapWrapper copy();
+
+		/** Puts the value for the key. */
+		LongMapWrapper add(long key, int value);
+
+		/** @return the value of the key, or defaultValue if it is missing. */
+		int get(long key, int defaultValue);
+
+		boolean containsKey(long key);
+
+		/** Same as increment(key, 1). */
+		int increment(long key);
+
+		/**
+		 * Adds delta to the value of the key, 0 if it is missing.
+		 * 
+		 * @return the new value.
+		 */
+		int increment(long key, int delta);
+
+		/**
+		 * Puts value for a missing key, operator(old value, value) otherwise.
+		 * 
+		 * @return the new value.
+		 */
+		int merge(long key, int value, IntBinaryOperator operator);
+
+		/** Makes every operation lock the map. */
+		@Override
+		LongMapWrapper threadSafe();
+
+		/** Same as {@link #threadSafe()}. */
+		@Override
+		LongMapWrapper concurrent();
+
+		/** Makes the writes throw UnsupportedOperationException. */
+		@Override
+		LongMapWrapper immutable();
+	}
+
+	/** @return an empty map from long keys to int values. */
+	public static LongMapWrapper longMap() {
+		return new org.bitbucket.dollar.primitives.LongMapWrapper();
+	}
+
+	/**
+	 * @return an empty map from long keys to int values, sized to hold
+	 *         expectedSize keys without growing.
+	 */
+	public static LongMapWrapper longMap(int expectedSize) {
+		return new org.bitbucket.dollar.primitives.LongMapWrapper(expectedSize);
+	}
+
+	/**
+	 * Sorted view over a copy of distinct elements (of a Set or the keys of a
+	 * Map) in a flat array, which is only sorted when the order is first
+	 * needed. Lookups and range queries are binary searches; the ranges are
+	 * views of the same array.
+	 * 
+	 * @param <T>
+	 *            Type of the elements.
+	 */
+	public static interface SortedWrapper<T> extends Wrapper<T> {
+
+		/**
+		 * @return true if an element compares equal to the given item.
+		 */
+		boolean contains(T item);
+
+		/**
+		 * @return the elements from fromItem (inclusive) to toItem
+		 *         (exclusive).
+		 */
+		SortedWrapper<T> range(T fromItem, T toItem);
+
+		/**
+		 * @return the elements lower than toItem.
+		 */
+		SortedWrapper<T> head(T toItem);
+
+		/**
+		 * @return the elements from fromItem (inclusive).
+		 */
+		SortedWrapper<T> tail(T fromItem);
+
+		/**
+		 * @return the k lowest elements (all of them if there are fewer), in
+		 *         order. A small k does not need the whole array sorted.
+		 */
+		SortedWrapper<T> first(int k);
+
+		/**
+		 * @return the k highest elements (all of them if there are fewer), in
+		 *         order. A small k does not need the whole array sorted.
+		 */
+		SortedWrapper<T> last(int k);
+	}
+
 	/**
 	 * Ranges have a beginning and end (and sometimes a step). Implements
 	 * Predicate so you can do things like:
@@ -682,6 +1266,61 @@ public final class Dollar {
 		 * @return True if is within the range and step.
 		 */
 		boolean contains(T it);
+
+		/**
+		 * Element at the given position, computed without iterating.
+		 * 
+		 * @throws IndexOutOfBoundsException
+		 *             If index is negative or not less than size().
+		 */
+		T get(int index) throws IndexOutOfBoundsException;
+
+		/**
+		 * Position of the given element, computed without iterating, or -1
+		 * if this range does not contain it.
+		 */
+		int indexOf(T value);
+
+		/**
+		 * Last element, computed without iterating.
+		 * 
+		 * @throws NoSuchElementException
+		 *             If this range is empty.
+		 */
+		T last() throws NoSuchElementException;
+	}
+
+	/**
+	 * Range of ints, shorts or bytes, which iterates and tests membership
+	 * with int arithmetic.
+	 */
+	public static interface IntRangeWrapper<T extends Number> extends
+			RangeWrapper<T> {
+
+		/** Iterates over the elements without boxing them. */
+		PrimitiveIterator.OfInt intIterator();
+
+		/** Calls the block on every element, without boxing. */
+		void forEachInt(IntBlock block);
+
+		/** Same as contains(T), without boxing. */
+		boolean contains(int value);
+	}
+
+	/**
+	 * Range of longs, which iterates and tests membership with long
+	 * arithmetic.
+	 */
+	public static interface LongRangeWrapper extends RangeWrapper<Long> {
+
+		/** Iterates over the elements without boxing them. */
+		PrimitiveIterator.OfLong longIterator();
+
+		/** Calls the block on every element, without boxing. */
+		void forEachLong(LongBlock block);
+
+		/** Same as contains(Long), without boxing. */
+		boolean contains(long value);
 	}
 
 	/**
@@ -689,7 +1328,7 @@ public final class Dollar {
 	 * {@link Ranges#upto(int)}.
 	 */
 	@Deprecated
-	public static RangeWrapper<Integer> $(int stopAt) {
+	public static IntRangeWrapper<Integer> $(int stopAt) {
 		return Ranges.upto(stopAt);
 	}
 
@@ -697,7 +1336,7 @@ public final class Dollar {
 	 * Range of integers, from startFrom, exclusive of stopAt. Calls
 	 * {@link Ranges#range(int, int)}.
 	 */
-	public static RangeWrapper<Integer> $(int startFrom, int stopAt) {
+	public static IntRangeWrapper<Integer> $(int startFrom, int stopAt) {
 		return Ranges.range(startFrom, stopAt);
 	}
 
@@ -705,7 +1344,8 @@ public final class Dollar {
 	 * Range of integers using step. Calls
 	 * {@link Ranges#rangeWithStep(int, int, int)}.
 	 */
-	public static RangeWrapper<Integer> $(int startFrom, int stopAt, int stepBy) {
+	public static IntRangeWrapper<Integer> $(int startFrom, int stopAt,
+			int stepBy) {
 		return Ranges.rangeWithStep(startFrom, stopAt, stepBy);
 	}
 
@@ -713,7 +1353,7 @@ public final class Dollar {
 	 * Range of shorts, from startFrom, exclusive of stopAt. Calls
 	 * {@link Ranges#range(short, short)}.
 	 */
-	public static RangeWrapper<Short> $(short startFrom, short stopAt) {
+	public static IntRangeWrapper<Short> $(short startFrom, short stopAt) {
 		return Ranges.range(startFrom, stopAt);
 	}
 
@@ -721,7 +1361,7 @@ public final class Dollar {
 	 * Range of shorts using step. Calls
 	 * {@link Ranges#rangeWithStep(short, short, short)}.
 	 */
-	public static RangeWrapper<Short> $(short startFrom, short stopAt,
+	public static IntRangeWrapper<Short> $(short startFrom, short stopAt,
 			short stepBy) {
 		return Ranges.rangeWithStep(startFrom, stopAt, stepBy);
 	}
@@ -730,7 +1370,7 @@ public final class Dollar {
 	 * Range of longs, from startFrom, exclusive of stopAt. Calls
 	 * {@link Ranges#range(long, long)}.
 	 */
-	public static RangeWrapper<Long> $(long startFrom, long stopAt) {
+	public static LongRangeWrapper $(long startFrom, long stopAt) {
 		return Ranges.range(startFrom, stopAt);
 	}
 
@@ -738,7 +1378,7 @@ public final class Dollar {
 	 * Range of longs using step. Calls
 	 * {@link Ranges#rangeWithStep(long, long, long)}.
 	 */
-	public static RangeWrapper<Long> $(long startFrom, long stopAt, long stepBy) {
+	public static LongRangeWrapper $(long startFrom, long stopAt, long stepBy) {
 		return Ranges.rangeWithStep(startFrom, stopAt, stepBy);
 	}
 
@@ -746,7 +1386,7 @@ public final class Dollar {
 	 * Range of bytes, from startFrom, exclusive of stopAt. Calls
 	 * {@link Ranges#range(byte, byte)}.
 	 */
-	public static RangeWrapper<Byte> $(byte startFrom, byte stopAt) {
+	public static IntRangeWrapper<Byte> $(byte startFrom, byte stopAt) {
 		return Ranges.range(startFrom, stopAt);
 	}
 
@@ -754,7 +1394,8 @@ public final class Dollar {
 	 * Range of bytes using step. Calls
 	 * {@link Ranges#rangeWithStep(byte, byte, byte)}.
 	 */
-	public static RangeWrapper<Byte> $(byte startFrom, byte stopAt, byte stepBy) {
+	public static IntRangeWrapper<Byte> $(byte startFrom, byte stopAt,
+			byte stepBy) {
 		return Ranges.rangeWithStep(startFrom, stopAt, stepBy);
 	}
 
@@ -975,6 +1616,16 @@ public final class Dollar {
 		};
 	}
 
+	/** Returns a function that returns its argument. */
+	public static <T> Function<T, T> identity() {
+		return new Function<T, T>() {
+			@Override
+			public T apply(T object) {
+				return object;
+			}
+		};
+	}
+
 	public static <T> Predicate<T> alwaysFalse() {
 		return new Predicate<T>() {
 			@Override
@@ -1,26 +1,215 @@
 package org.bitbucket.dollar;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Enumeration;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
 
 /**
- * Really simple enumeration wrapper that just adds all the elements to a list.
- * 
+ * Enumeration wrapper that pulls the elements on demand: traversals (each,
+ * find, any, map, filter, iterator...) read the enumeration only as far as
+ * they go, and remember the elements read so that the next traversals see
+ * them again. The operations that need all the elements (size, sort, add,
+ * slice...) first read the rest of the enumeration. Null elements are kept.
+ *
  * @author Adam L. Davis
  */
 public class EnumerationWrapper<E> extends ListWrapper<E> implements Wrapper<E> {
 
+    // null once all the elements were read
+    private Enumeration<E> enumeration;
+
     public EnumerationWrapper(Enumeration<E> enumer) {
-        super(new LinkedList<E>());
-        if (!enumer.hasMoreElements())
-            return;
-        for (E it = enumer.nextElement(); it != null; it = enumer.nextElement()) {
-            list.add(it);
-            if (!enumer.hasMoreElements())
-                break;
+        super(new ArrayList<E>());
+        this.enumeration = Preconditions.requireNotNull(enumer,
+                "enumeration must be non-null");
+    }
+
+    /** Reads the element at index, if the enumeration has it. */
+    private boolean pull(int index) {
+        while (enumeration != null && list.size() <= index) {
+            if (enumeration.hasMoreElements()) {
+                list.add(enumeration.nextElement());
+            } else {
+                enumeration = null;
+            }
+        }
+        return index < list.size();
+    }
+
+    /** Reads all the remaining elements. */
+    private void drain() {
+        pull(Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        if (enumeration == null) {
+            return super.iterator();
+        }
+        return new Iterator<E>() {
+
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return pull(index);
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return list.get(index++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException(
+                        "remove() not supported while reading an Enumeration");
+            }
+        };
+    }
+
+    @Override
+    protected boolean push(Sink<E> sink) {
+        for (int i = 0; pull(i); i++) {
+            if (!sink.accept(list.get(i))) {
+                return false;
+            }
         }
+        return true;
     }
 
+    @Override
+    protected List<Wrapper<E>> split(int parts) {
+        return enumeration == null ? super.split(parts) : null;
+    }
+
+    @Override
+    public Splitter<E> splitter() {
+        if (enumeration == null) {
+            return super.splitter();
+        }
+        return Splitters.iterator(iterator(), -1, Splitter.ORDERED);
+    }
+
+    @Override
+    protected int knownSize() {
+        return enumeration == null ? list.size() : -1;
+    }
+
+    @Override
+    public int size() {
+        drain();
+        return super.size();
+    }
+
+    @Override
+    public ListWrapper<E> copy() {
+        drain();
+        return new ListWrapper<E>(new ArrayList<E>(list));
+    }
+
+    @Override
+    public Wrapper<E> shuffle(Random random) {
+        drain();
+        return super.shuffle(random);
+    }
+
+    @Override
+    public Wrapper<E> reverse() {
+        drain();
+        return super.reverse();
+    }
+
+    @Override
+    public Wrapper<E> fill(E object) {
+        drain();
+        return super.fill(object);
+    }
+
+    @Override
+    public Wrapper<E> slice(int i, int j) {
+        drain();
+        return super.slice(i, j);
+    }
+
+    @Override
+    public Wrapper<E> sort(Comparator<E> comparator) {
+        drain();
+        return super.sort(comparator);
+    }
+
+    @Override
+    public ListWrapper<E> add(E item) {
+        drain();
+        return super.add(item);
+    }
+
+    @Override
+    public ListWrapper<E> addAll(Iterable<E> items) {
+        drain();
+        return super.addAll(items);
+    }
+
+    @Override
+    public ListWrapper<E> threadSafe() {
+        drain();
+        return super.threadSafe();
+    }
+
+    @Override
+    public ListWrapper<E> concurrent() {
+        drain();
+        return super.concurrent();
+    }
+
+    @Override
+    public ListWrapper<E> immutable() {
+        drain();
+        return super.immutable();
+    }
+
+    @Override
+    public Dollar.ListWrapper<E> checked(Class<E> requiredClass) {
+        drain();
+        return super.checked(requiredClass);
+    }
+
+    @Override
+    public E[] toArray() {
+        drain();
+        return super.toArray();
+    }
+
+    @Override
+    public List<E> toList() {
+        drain();
+        return super.toList();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        drain();
+        return super.equals(object);
+    }
+
+    @Override
+    public int hashCode() {
+        drain();
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        drain();
+        return super.toString();
+    }
 }
@@ -0,0 +1,246 @@
+package org.bitbucket.dollar;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.Function;
+
+/**
+ * Streams the lines of a file, each parsed by a function. Every traversal
+ * opens the file and reads it through a fixed-size byte buffer decoded into
+ * a fixed-size char buffer, so the memory used is bounded by the buffers
+ * and the longest line, not by the file size.
+ *
+ * Terminal operations close the file when they return; iterators close it
+ * when they reach the end. {@link #close()} closes the iterators left
+ * unfinished. I/O errors are rethrown as IllegalStateException.
+ *
+ * Lines end with "\n", "\r" or "\r\n", like for BufferedReader; malformed
+ * input is replaced.
+ *
+ * @param <T>
+ *            Type of the parsed lines.
+ */
+public class FileLinesWrapper<T> extends AbstractWrapper<T> implements
+        Dollar.CloseableWrapper<T> {
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final File file;
+    private final Charset charset;
+    private final Function<String, T> parser;
+    private final int bufferSize;
+    private final Set<LineReader> open = Collections
+            .synchronizedSet(new HashSet<LineReader>());
+
+    public FileLinesWrapper(File file, Charset charset,
+            Function<String, T> parser, int bufferSize) {
+        Preconditions.requireNotNull(file, "file must be non-null");
+        Preconditions.requireNotNull(charset, "charset must be non-null");
+        Preconditions.requireNotNull(parser, "parser must be non-null");
+        // room for the longest encoded char and for a surrogate pair
+        Preconditions.require(bufferSize >= 16,
+                "bufferSize must be at least 16");
+        this.file = file;
+        this.charset = charset;
+        this.parser = parser;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public Wrapper<T> copy() {
+        return new FileLinesWrapper<T>(file, charset, parser, bufferSize);
+    }
+
+    /** Reads the whole file. */
+    @Override
+    public int size() {
+        return count(this);
+    }
+
+    @Override
+    protected boolean push(Sink<T> sink) {
+        LineReader reader = new LineReader();
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!sink.accept(parser.apply(line))) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException ex) {
+            throw failure(ex);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final LineReader reader = new LineReader();
+        return new Iterator<T>() {
+
+            private String next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && reader.isOpen()) {
+                    try {
+                        next = reader.readLine();
+                    } catch (IOException ex) {
+                        reader.close();
+                        throw failure(ex);
+                    }
+                    if (next == null) {
+                        reader.close();
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                String line = next;
+                next = null;
+                return parser.apply(line);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException(
+                        "remove() not supported for FileLinesWrapper");
+            }
+        };
+    }
+
+    /** Closes the file for the traversals not finished yet. */
+    @Override
+    public void close() {
+        List<LineReader> readers;
+        synchronized (open) {
+            readers = new ArrayList<LineReader>(open);
+        }
+        for (LineReader reader : readers) {
+            reader.close();
+        }
+    }
+
+    private IllegalStateException failure(IOException ex) {
+        return new IllegalStateException("cannot read " + file, ex);
+    }
+
+    private class LineReader {
+
+        private FileChannel channel;
+        private final ByteBuffer bytes = ByteBuffer.allocate(bufferSize);
+        private final CharBuffer chars = CharBuffer.allocate(bufferSize);
+        private final CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final StringBuilder line = new StringBuilder();
+        private boolean eof = false;
+        private boolean flushing = false;
+        private boolean done = false;
+        // a line ended with '\r': skip the '\n' that may follow
+        private boolean afterCR = false;
+
+        LineReader() {
+            try {
+                channel = new FileInputStream(file).getChannel();
+            } catch (IOException ex) {
+                throw failure(ex);
+            }
+            open.add(this);
+            chars.flip();
+        }
+
+        boolean isOpen() {
+            return channel != null;
+        }
+
+        /** Returns null at the end of the file. */
+        String readLine() throws IOException {
+            while (true) {
+                while (chars.hasRemaining()) {
+                    char c = chars.get();
+                    if (afterCR) {
+                        afterCR = false;
+                        if (c == '\n') {
+                            continue;
+                        }
+                    }
+                    if (c == '\n' || c == '\r') {
+                        afterCR = c == '\r';
+                        String result = line.toString();
+                        line.setLength(0);
+                        return result;
+                    }
+                    line.append(c);
+                }
+                if (!fill()) {
+                    if (line.length() == 0) {
+                        return null;
+                    }
+                    String result = line.toString();
+                    line.setLength(0);
+                    return result;
+                }
+            }
+        }
+
+        /** Decodes the next chars; returns false at the end of the file. */
+        private boolean fill() throws IOException {
+            chars.clear();
+            while (chars.position() == 0 && !done) {
+                if (!flushing) {
+                    if (!eof && channel.read(bytes) < 0) {
+                        eof = true;
+                    }
+                    bytes.flip();
+                    CoderResult result = decoder.decode(bytes, chars, eof);
+                    bytes.compact();
+                    flushing = eof && result.isUnderflow();
+                }
+                if (flushing && decoder.flush(chars).isUnderflow()) {
+                    done = true;
+                }
+            }
+            chars.flip();
+            return chars.hasRemaining();
+        }
+
+        void close() {
+            if (channel == null) {
+                return;
+            }
+            open.remove(this);
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                // nothing left to read
+            } finally {
+                channel = null;
+            }
+        }
+    }
+}
@@ -17,7 +17,9 @@ package org.bitbucket.dollar;
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 
@@ -78,6 +80,37 @@ public class FillWrapper<T> extends AbstractWrapper<T> {
         return new FillIterator<T>(value, size);
     }
 
+    @Override
+    protected boolean push(Sink<T> sink) {
+        for (int i = 0; i < size; i++) {
+            if (!sink.accept(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        parts = Math.min(parts, size);
+        List<Wrapper<T>> split = new ArrayList<Wrapper<T>>(parts);
+        for (int i = 0; i < parts; i++) {
+            split.add(new FillWrapper<T>(value, partStart(size, parts, i + 1)
+                    - partStart(size, parts, i)));
+        }
+        return split;
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        return Splitters.indexed(new Splitters.Indexed<T>() {
+            @Override
+            public T get(int index) {
+                return value;
+            }
+        }, size, Splitter.ORDERED | Splitter.IMMUTABLE);
+    }
+
     @Override
     public Wrapper<T> repeat(int n) {
         Preconditions.require(n > 0, "n must be positive");
@@ -89,6 +122,11 @@ public class FillWrapper<T> extends AbstractWrapper<T> {
         return this;
     }
 
+    @Override
+    protected int knownSize() {
+        return size;
+    }
+
     @Override
     public int size() {
         return this.size;
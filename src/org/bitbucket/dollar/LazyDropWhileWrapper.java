@@ -0,0 +1,100 @@
+package org.bitbucket.dollar;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.Predicate;
+
+/**
+ * Lazily provides the elements of the delegate from the first one not
+ * satisfying predicate onwards; predicate is not called after that element.
+ *
+ * @param <T>
+ *            Type contained by this wrapper.
+ */
+public class LazyDropWhileWrapper<T> extends AbstractWrapper<T> {
+
+    private final Wrapper<T> delegate;
+    private final Predicate<T> predicate;
+
+    public LazyDropWhileWrapper(Wrapper<T> delegate, Predicate<T> predicate) {
+        Preconditions.requireNotNull(delegate, "delegate must be non-null");
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        this.delegate = delegate;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public Wrapper<T> copy() {
+        return new LazyDropWhileWrapper<T>(delegate.copy(), predicate);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<T> iterator = delegate.iterator();
+        return new Iterator<T>() {
+
+            private boolean dropping = true;
+            private boolean prefetched = false;
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                while (dropping && iterator.hasNext()) {
+                    T item = iterator.next();
+                    if (!predicate.test(item)) {
+                        dropping = false;
+                        prefetched = true;
+                        next = item;
+                    }
+                }
+                dropping = false;
+                return prefetched || iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (prefetched) {
+                    T item = next;
+                    next = null;
+                    prefetched = false;
+                    return item;
+                }
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    protected boolean push(final Sink<T> sink) {
+        return push(delegate, new Sink<T>() {
+
+            private boolean dropping = true;
+
+            @Override
+            public boolean accept(T item) {
+                if (dropping) {
+                    if (predicate.test(item)) {
+                        return true;
+                    }
+                    dropping = false;
+                }
+                return sink.accept(item);
+            }
+        });
+    }
+
+    @Override
+    public int size() {
+        return count(this);
+    }
+}
@@ -1,6 +1,8 @@
 package org.bitbucket.dollar;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
@@ -21,21 +23,43 @@ public class LazyFilterWrapper<T> extends AbstractDelegatingWrapper<T> {
         this.predicate = predicate;
     }
 
+    /** Tests every element; see {@link #memoize()} to do it only once. */
     @Override
     public int size() {
-        int s = 0;
+        return count(this);
+    }
 
-        for (T item : delegate) {
-            if (predicate.test(item)) {
-                s++;
-            }
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        List<Wrapper<T>> split = split(delegate, parts);
+        if (split == null) {
+            return null;
         }
-        return s;
+        List<Wrapper<T>> result = new ArrayList<Wrapper<T>>(split.size());
+        for (Wrapper<T> part : split) {
+            result.add(new LazyFilterWrapper<T>(part, predicate));
+        }
+        return result;
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        return Splitters.filter(delegate.splitter(), predicate);
+    }
+
+    @Override
+    protected boolean push(final Sink<T> sink) {
+        return push(delegate, new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                return !predicate.test(item) || sink.accept(item);
+            }
+        });
     }
 
     @Override
     public Iterator<T> iterator() {
-        return new LazyFilteringIterator(delegate.iterator(), predicate);
+        return new LazyFilteringIterator<T>(delegate.iterator(), predicate);
     }
 
     @Override
@@ -45,7 +69,10 @@ public class LazyFilterWrapper<T> extends AbstractDelegatingWrapper<T> {
 
     public static class LazyFilteringIterator<T> implements Iterator<T> {
 
-        private Box<T> box = Box.empty();
+        // marks "nothing prefetched" (null is a legal element)
+        private static final Object NONE = new Object();
+
+        private Object next = NONE;
         private final Iterator<T> unfiltered;
         private final Predicate<T> predicate;
 
@@ -55,33 +82,33 @@ public class LazyFilterWrapper<T> extends AbstractDelegatingWrapper<T> {
         }
 
         protected void prefetch() {
-            if (!box.isEmpty()) {
+            if (next != NONE) {
                 return;
             }
             while (unfiltered.hasNext()) {
                 T element = unfiltered.next();
                 if (predicate.test(element)) {
-                    box = Box.of(element);
+                    next = element;
                     return;
                 }
             }
-            box = Box.empty();
         }
 
         @Override
         public boolean hasNext() {
             prefetch();
-            return !box.isEmpty();
+            return next != NONE;
         }
 
+        @SuppressWarnings("unchecked")
         @Override
         public T next() {
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            T next = box.get();
-            box = Box.empty();
-            return next;
+            T element = (T) next;
+            next = NONE;
+            return element;
         }
 
         @Override
@@ -17,7 +17,10 @@
  */
 package org.bitbucket.dollar;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
 import org.bitbucket.dollar.functions.Function;
@@ -57,27 +60,25 @@ public class LazyFlatMappedWrapper<R, T> extends AbstractWrapper<R> {
 	public Iterator<R> iterator() {
 		final Iterator<T> unmapped = delegate.iterator();
 		return new Iterator<R>() {
-			Box<Iterator<R>> boxedIterator = Box.empty();
+			Iterator<R> mapped = null;
 
 			@Override
 			public boolean hasNext() {
-				if (!boxedIterator.isEmpty() && boxedIterator.get().hasNext()) {
-					return true;
-				} else if (unmapped.hasNext()) {
-					final T next = unmapped.next();
-					boxedIterator = boxedIterator.put(mapper.apply(next)
-							.iterator());
-					return boxedIterator.get().hasNext();
+				while (mapped == null || !mapped.hasNext()) {
+					if (!unmapped.hasNext()) {
+						return false;
+					}
+					mapped = mapper.apply(unmapped.next()).iterator();
 				}
-				return false;
+				return true;
 			}
 
 			@Override
 			public R next() {
-				if (hasNext())
-					return boxedIterator.get().next();
-				else
-					return null;
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return mapped.next();
 			}
 
 			@Override
@@ -87,10 +88,36 @@ public class LazyFlatMappedWrapper<R, T> extends AbstractWrapper<R> {
 		};
 	}
 
-	/** Not recommended. */
+	@Override
+	protected List<Wrapper<R>> split(int parts) {
+		List<Wrapper<T>> split = split(delegate, parts);
+		if (split == null) {
+			return null;
+		}
+		List<Wrapper<R>> result = new ArrayList<Wrapper<R>>(split.size());
+		for (Wrapper<T> part : split) {
+			result.add(new LazyFlatMappedWrapper<R, T>(part, mapper));
+		}
+		return result;
+	}
+
+	@Override
+	protected boolean push(final Sink<R> sink) {
+		return push(delegate, new Sink<T>() {
+			@Override
+			public boolean accept(T item) {
+				return push(mapper.apply(item), sink);
+			}
+		});
+	}
+
+	/**
+	 * Not recommended: calls mapper on every element. See {@link #memoize()}
+	 * to do it only once.
+	 */
 	@Override
 	public int size() {
-		return new ListWrapper<R>(this).size();
+		return count(this);
 	}
 
 }
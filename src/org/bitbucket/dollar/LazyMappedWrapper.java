@@ -17,7 +17,9 @@
  */
 package org.bitbucket.dollar;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
 import org.bitbucket.dollar.functions.Function;
@@ -45,6 +47,17 @@ public class LazyMappedWrapper<R, T> extends AbstractWrapper<R> {
         return new LazyMappedWrapper<R, T>(delegate.copy(), mapper);
     }
 
+    // skipped elements are not mapped
+    @Override
+    public Wrapper<R> limit(int n) {
+        return new LazyMappedWrapper<R, T>(delegate.limit(n), mapper);
+    }
+
+    @Override
+    public Wrapper<R> skip(int n) {
+        return new LazyMappedWrapper<R, T>(delegate.skip(n), mapper);
+    }
+
     @Override
     public Iterator<R> iterator() {
         final Iterator<T> unmapped = delegate.iterator();
@@ -66,6 +79,39 @@ public class LazyMappedWrapper<R, T> extends AbstractWrapper<R> {
         };
     }
 
+    @Override
+    protected List<Wrapper<R>> split(int parts) {
+        List<Wrapper<T>> split = split(delegate, parts);
+        if (split == null) {
+            return null;
+        }
+        List<Wrapper<R>> result = new ArrayList<Wrapper<R>>(split.size());
+        for (Wrapper<T> part : split) {
+            result.add(new LazyMappedWrapper<R, T>(part, mapper));
+        }
+        return result;
+    }
+
+    @Override
+    public Splitter<R> splitter() {
+        return Splitters.map(delegate.splitter(), mapper);
+    }
+
+    @Override
+    protected boolean push(final Sink<R> sink) {
+        return push(delegate, new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                return sink.accept(mapper.apply(item));
+            }
+        });
+    }
+
+    @Override
+    protected int knownSize() {
+        return knownSize(delegate);
+    }
+
     @Override
     public int size() {
         return delegate.size();
@@ -0,0 +1,183 @@
+package org.bitbucket.dollar;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+
+/**
+ * Lazily skips the first elements of the delegate and stops pulling from it
+ * once the limit is reached; implements skip(n) and limit(n).
+ *
+ * @param <T>
+ *            Type contained by this wrapper.
+ */
+public class LazySliceWrapper<T> extends AbstractWrapper<T> {
+
+    /** Limit meaning "all the remaining elements". */
+    public static final int NO_LIMIT = -1;
+
+    private final Wrapper<T> delegate;
+    private final int skip;
+    private final int limit;
+
+    /**
+     * @param limit
+     *            Maximum number of elements after the skipped ones, or
+     *            NO_LIMIT.
+     */
+    public LazySliceWrapper(Wrapper<T> delegate, int skip, int limit) {
+        Preconditions.requireNotNull(delegate, "delegate must be non-null");
+        Preconditions.require(skip >= 0, "skip must be non-negative");
+        Preconditions.require(limit >= 0 || limit == NO_LIMIT,
+                "limit must be non-negative");
+        this.delegate = delegate;
+        this.skip = skip;
+        this.limit = limit;
+    }
+
+    @Override
+    public Wrapper<T> copy() {
+        return new LazySliceWrapper<T>(delegate.copy(), skip, limit);
+    }
+
+    @Override
+    public Wrapper<T> limit(int n) {
+        Preconditions.require(n >= 0, "n must be non-negative");
+        return new LazySliceWrapper<T>(delegate, skip, limit == NO_LIMIT ? n
+                : Math.min(limit, n));
+    }
+
+    @Override
+    public Wrapper<T> skip(int n) {
+        Preconditions.require(n >= 0, "n must be non-negative");
+        int skipped = (int) Math.min((long) skip + n, Integer.MAX_VALUE);
+        return new LazySliceWrapper<T>(delegate, skipped,
+                limit == NO_LIMIT ? NO_LIMIT : Math.max(limit - n, 0));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<T> iterator = delegate.iterator();
+        return new Iterator<T>() {
+
+            private int toSkip = skip;
+            private long remaining = limit == NO_LIMIT ? Long.MAX_VALUE
+                    : limit;
+
+            @Override
+            public boolean hasNext() {
+                if (remaining == 0) {
+                    return false;
+                }
+                for (; toSkip > 0 && iterator.hasNext(); toSkip--) {
+                    iterator.next();
+                }
+                return iterator.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+            }
+        };
+    }
+
+    @Override
+    protected boolean push(Sink<T> sink) {
+        if (limit == 0) {
+            return true;
+        }
+        SliceSink slice = new SliceSink(sink);
+        push(delegate, slice);
+        return !slice.stopped;
+    }
+
+    private class SliceSink implements Sink<T> {
+
+        private final Sink<T> sink;
+        private int toSkip = skip;
+        private long remaining = limit == NO_LIMIT ? Long.MAX_VALUE : limit;
+        boolean stopped = false;
+
+        SliceSink(Sink<T> sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public boolean accept(T item) {
+            if (toSkip > 0) {
+                toSkip--;
+                return true;
+            }
+            if (!sink.accept(item)) {
+                stopped = true;
+                return false;
+            }
+            return --remaining > 0;
+        }
+    }
+
+    @Override
+    protected int knownSize() {
+        int size = knownSize(delegate);
+        if (size < 0) {
+            return -1;
+        }
+        size = Math.max(size - skip, 0);
+        return limit == NO_LIMIT ? size : Math.min(size, limit);
+    }
+
+    @Override
+    public int size() {
+        int size = knownSize();
+        if (size >= 0) {
+            return size;
+        }
+        return count(this);
+    }
+
+    /** Slices the parts of the delegate, when they all have a known size. */
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        List<Wrapper<T>> split = split(delegate, parts);
+        if (split == null) {
+            return null;
+        }
+        long from = skip;
+        long to = limit == NO_LIMIT ? Long.MAX_VALUE : from + limit;
+        List<Wrapper<T>> result = new ArrayList<Wrapper<T>>(split.size());
+        long start = 0;
+        for (Wrapper<T> part : split) {
+            int size = knownSize(part);
+            if (size < 0) {
+                return null;
+            }
+            long end = start + size;
+            long lo = Math.max(from, start);
+            long hi = Math.min(to, end);
+            if (lo < hi) {
+                result.add(new LazySliceWrapper<T>(part, (int) (lo - start),
+                        (int) (hi - lo)));
+            }
+            start = end;
+        }
+        return result;
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        return Splitters.iterator(iterator(), knownSize(), Splitter.ORDERED);
+    }
+}
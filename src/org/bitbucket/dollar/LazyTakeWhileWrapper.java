@@ -0,0 +1,101 @@
+package org.bitbucket.dollar;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.Predicate;
+
+/**
+ * Lazily provides the elements of the delegate before the first one not
+ * satisfying predicate, and stops pulling from the delegate there.
+ *
+ * @param <T>
+ *            Type contained by this wrapper.
+ */
+public class LazyTakeWhileWrapper<T> extends AbstractWrapper<T> {
+
+    private final Wrapper<T> delegate;
+    private final Predicate<T> predicate;
+
+    public LazyTakeWhileWrapper(Wrapper<T> delegate, Predicate<T> predicate) {
+        Preconditions.requireNotNull(delegate, "delegate must be non-null");
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        this.delegate = delegate;
+        this.predicate = predicate;
+    }
+
+    @Override
+    public Wrapper<T> copy() {
+        return new LazyTakeWhileWrapper<T>(delegate.copy(), predicate);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Iterator<T> iterator = delegate.iterator();
+        return new Iterator<T>() {
+
+            private boolean done = false;
+            private boolean prefetched = false;
+            private T next;
+
+            @Override
+            public boolean hasNext() {
+                if (prefetched) {
+                    return true;
+                }
+                if (done || !iterator.hasNext()) {
+                    return false;
+                }
+                next = iterator.next();
+                if (predicate.test(next)) {
+                    prefetched = true;
+                } else {
+                    done = true;
+                    next = null;
+                }
+                return prefetched;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T item = next;
+                next = null;
+                prefetched = false;
+                return item;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    protected boolean push(final Sink<T> sink) {
+        final boolean[] stopped = new boolean[1];
+        push(delegate, new Sink<T>() {
+            @Override
+            public boolean accept(T item) {
+                if (!predicate.test(item)) {
+                    return false;
+                }
+                if (!sink.accept(item)) {
+                    stopped[0] = true;
+                    return false;
+                }
+                return true;
+            }
+        });
+        return !stopped[0];
+    }
+
+    @Override
+    public int size() {
+        return count(this);
+    }
+}
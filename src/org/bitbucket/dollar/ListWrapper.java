@@ -17,18 +17,25 @@ package org.bitbucket.dollar;
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Random;
+import java.util.RandomAccess;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
 
 public class ListWrapper<T> extends AbstractWrapper<T> implements Dollar.ListWrapper<T> {
 
-    protected List<T> list;
+    // volatile so that the threads sharing a concurrent list see it rewritten
+    protected volatile List<T> list;
+    // held by the writes to a concurrent list, see concurrent()
+    private final Object writeLock = new Object();
 
     public ListWrapper(List<T> list) {
         Preconditions.requireNotNull(list , "list must be non-null");
@@ -50,31 +57,55 @@ public class ListWrapper<T> extends AbstractWrapper<T> implements Dollar.ListWra
     @Override
     public Wrapper<T> shuffle(Random random) {
         Preconditions.requireNotNull(random , "random must be non-null");
-        Collections.shuffle(list, random);
+        synchronized (writeLock) {
+            List<T> target = writable();
+            Collections.shuffle(target, random);
+            written(target);
+        }
         return this;
     }
 
     @Override
     public Wrapper<T> reverse() {
-        Collections.reverse(list);
+        synchronized (writeLock) {
+            List<T> target = writable();
+            Collections.reverse(target);
+            written(target);
+        }
         return this;
     }
 
     @Override
     public Wrapper<T> fill(T object) {
-        Collections.fill(list, object);
+        synchronized (writeLock) {
+            List<T> target = writable();
+            Collections.fill(target, object);
+            written(target);
+        }
         return this;
     }
 
     @Override
     public Wrapper<T> slice(int i, int j) {
         if (i >= 0 && j < size()) {
-            list = list.subList(i, j);
+            if (isConcurrent()) {
+                synchronized (writeLock) {
+                    list = new CopyOnWriteArrayList<T>(snapshot().subList(i,
+                            j));
+                }
+            } else {
+                list = list.subList(i, j);
+            }
         }
 
         return this;
     }
 
+    @Override
+    protected int knownSize() {
+        return list.size();
+    }
+
     @Override
     public int size() {
         return list.size();
@@ -98,19 +129,35 @@ public class ListWrapper<T> extends AbstractWrapper<T> implements Dollar.ListWra
 
     @Override
     public Wrapper<T> sort(Comparator<T> comparator) {
-        Collections.sort(list, comparator);
+        synchronized (writeLock) {
+            List<T> target = writable();
+            Collections.sort(target, comparator);
+            written(target);
+        }
         return this;
     }
 
     @Override
     public ListWrapper<T> add(T item) {
-        list.add(item);
+        if (isConcurrent()) {
+            synchronized (writeLock) {
+                list.add(item);
+            }
+        } else {
+            list.add(item);
+        }
         return this;
     }
 
     @Override
     public ListWrapper<T> addAll(Iterable<T> items) {
-        addToCollection(list, items);
+        if (isConcurrent()) {
+            synchronized (writeLock) {
+                addToCollection(list, items);
+            }
+        } else {
+            addToCollection(list, items);
+        }
         return this;
     }
 
@@ -120,6 +167,57 @@ public class ListWrapper<T> extends AbstractWrapper<T> implements Dollar.ListWra
         return this;
     }
 
+    /**
+     * Replaces the wrapped list with a CopyOnWriteArrayList copy: reads and
+     * iterations take no lock and never fail, each write copies the array.
+     * Whole-list operations (sort, reverse, shuffle, fill) rewrite the list
+     * once instead of copying the array for every element set. They hold the
+     * lock add and addAll take, so no element added meanwhile is lost; write
+     * through this wrapper rather than through toList(). Call it before
+     * sharing the wrapper: add and addAll only take the lock once the list is
+     * concurrent.
+     */
+    @Override
+    public ListWrapper<T> concurrent() {
+        synchronized (writeLock) {
+            if (!isConcurrent()) {
+                list = new CopyOnWriteArrayList<T>(list);
+            }
+        }
+        return this;
+    }
+
+    private boolean isConcurrent() {
+        return list instanceof CopyOnWriteArrayList;
+    }
+
+    /**
+     * The elements of a concurrent list at this time, as a random-access
+     * list that later writes do not change; the wrapped list otherwise.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> snapshot() {
+        if (isConcurrent()) {
+            return Collections.unmodifiableList(Arrays.asList((T[]) list
+                    .toArray()));
+        }
+        return list;
+    }
+
+    /**
+     * The list to rewrite in place: a copy for a concurrent list, to be
+     * passed to written() while holding writeLock.
+     */
+    private List<T> writable() {
+        return isConcurrent() ? new ArrayList<T>(list) : list;
+    }
+
+    private void written(List<T> target) {
+        if (target != list) {
+            list = new CopyOnWriteArrayList<T>(target);
+        }
+    }
+
     @Override
     public ListWrapper<T> immutable() {
         final List<T> copy = createList(list.getClass());
@@ -154,12 +252,43 @@ public class ListWrapper<T> extends AbstractWrapper<T> implements Dollar.ListWra
         return list.iterator();
     }
 
+    @Override
+    protected boolean push(Sink<T> sink) {
+        // read once: list is volatile
+        List<T> list = this.list;
+        // the iterator of a concurrent list walks a snapshot
+        if (!(list instanceof RandomAccess)
+                || list instanceof CopyOnWriteArrayList) {
+            return super.push(sink);
+        }
+        for (int i = 0, size = list.size(); i < size; i++) {
+            if (!sink.accept(list.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Only random-access lists are split. */
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        if (list instanceof RandomAccess) {
+            return splitList(snapshot(), parts);
+        }
+        return null;
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        return Splitters.list(snapshot(), Splitter.ORDERED);
+    }
+
     @SuppressWarnings("rawtypes")
     @Override
     public boolean equals(Object object) {
         if (object instanceof ListWrapper) {
             ListWrapper listWrapper = (ListWrapper) object;
-            return list.equals(listWrapper.list);
+            return list.equals(listWrapper.toList());
         } else {
             return false;
         }
@@ -18,12 +18,21 @@ package org.bitbucket.dollar;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.Function;
+import org.bitbucket.dollar.functions.Predicate;
+import org.bitbucket.dollar.functions.TriFunction;
 
 public class MapWrapper<K, V> extends AbstractWrapper<K> implements Dollar.MapWrapper<K, V> {
 
@@ -46,6 +55,20 @@ public class MapWrapper<K, V> extends AbstractWrapper<K> implements Dollar.MapWr
         return this;
     }
 
+    /**
+     * Replaces the wrapped map with a concurrent copy: a ConcurrentSkipListMap
+     * with the same comparator for a SortedMap, a ConcurrentHashMap otherwise.
+     */
+    @Override
+    public MapWrapper<K, V> concurrent() {
+        if (map instanceof SortedMap) {
+            map = new ConcurrentSkipListMap<K, V>((SortedMap<K, V>) map);
+        } else {
+            map = new ConcurrentHashMap<K, V>(map);
+        }
+        return this;
+    }
+
     @Override
     public MapWrapper<K, V> immutable() {
         map = Collections.unmodifiableMap(map);
@@ -71,9 +94,79 @@ public class MapWrapper<K, V> extends AbstractWrapper<K> implements Dollar.MapWr
         return map;
     }
 
+    @Override
+    public Wrapper<Map.Entry<K, V>> entries() {
+        return new CollectionWrapper<Map.Entry<K, V>>(map.entrySet());
+    }
+
+    @Override
+    public Wrapper<V> values() {
+        return new CollectionWrapper<V>(map.values());
+    }
+
+    @Override
+    public <R> MapWrapper<K, R> mapValues(Function<V, R> function) {
+        Preconditions.requireNotNull(function, "function must be non-null");
+        Map<K, R> result = newMap(map.size());
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            result.put(entry.getKey(), function.apply(entry.getValue()));
+        }
+        return new MapWrapper<K, R>(result);
+    }
+
+    @Override
+    public MapWrapper<K, V> filterEntries(Predicate<Map.Entry<K, V>> predicate) {
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        Map<K, V> result = newMap(INITIAL_CAPACITY);
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            if (predicate.test(entry)) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return new MapWrapper<K, V>(result);
+    }
+
+    @Override
+    public <R> R reduceEntries(R initial, TriFunction<K, V, R, R> function) {
+        Preconditions.requireNotNull(function, "function must be non-null");
+        R result = initial;
+        for (Map.Entry<K, V> entry : map.entrySet()) {
+            result = function.apply(entry.getKey(), entry.getValue(), result);
+        }
+        return result;
+    }
+
+    /** An empty map with the same ordering as the wrapped one. */
+    private <R> Map<K, R> newMap(int expectedSize) {
+        if (map instanceof SortedMap) {
+            return new TreeMap<K, R>(((SortedMap<K, V>) map).comparator());
+        }
+        int capacity = Math.max(INITIAL_CAPACITY, expectedSize * 4 / 3 + 1);
+        if (map instanceof LinkedHashMap) {
+            return new LinkedHashMap<K, R>(capacity);
+        }
+        return new HashMap<K, R>(capacity);
+    }
+
+    /** Iterates the keys; see {@link #entries()} to get the values too. */
     @Override
     public Iterator<K> iterator() {
-        return map.keySet().iterator(); // TODO: entry set iterator 
+        return map.keySet().iterator();
+    }
+
+    @Override
+    public Splitter<K> splitter() {
+        int characteristics = Splitter.DISTINCT;
+        if (map instanceof SortedMap) {
+            characteristics |= Splitter.ORDERED;
+            if (((SortedMap<K, V>) map).comparator() == null) {
+                characteristics |= Splitter.SORTED;
+            }
+        } else if (map instanceof LinkedHashMap) {
+            characteristics |= Splitter.ORDERED;
+        }
+        return Splitters.iterator(map.keySet().iterator(), map.size(),
+                characteristics);
     }
 
     @Override
@@ -82,6 +175,11 @@ public class MapWrapper<K, V> extends AbstractWrapper<K> implements Dollar.MapWr
         return iterableToArray(keys, keys.size());
     }
 
+    @Override
+    protected int knownSize() {
+        return map.size();
+    }
+
     @Override
     public int size() {
         return map.size();
@@ -100,8 +198,8 @@ public class MapWrapper<K, V> extends AbstractWrapper<K> implements Dollar.MapWr
     }
 
     @Override
-    public Wrapper<K> sort() {
-        return new SortedMapWrapper<K, V>(map);
+    public Dollar.SortedWrapper<K> sort() {
+        return new SortedArrayWrapper<K>(map.keySet());
     }
 
     @SuppressWarnings("rawtypes")
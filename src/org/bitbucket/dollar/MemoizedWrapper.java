@@ -0,0 +1,178 @@
+package org.bitbucket.dollar;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+
+/**
+ * Records the elements of the delegate on the first complete traversal (by
+ * a terminal operation, size() or an iterator that reached the end), then
+ * serves size, iteration and the terminal operations from the recorded
+ * array. The recording is dropped when a mutator replaces the delegate.
+ *
+ * @param <T>
+ *            Type contained by this wrapper.
+ */
+public class MemoizedWrapper<T> extends AbstractDelegatingWrapper<T> {
+
+    // null until a traversal completed; never modified once set
+    private T[] items;
+    // incremented when the delegate is replaced
+    private int version = 0;
+
+    public MemoizedWrapper(Wrapper<T> delegate) {
+        super(Preconditions.requireNotNull(delegate,
+                "delegate must be non-null"));
+    }
+
+    @Override
+    protected void delegateChanged() {
+        items = null;
+        version++;
+    }
+
+    /** Traverses the delegate, unless already done. */
+    private T[] items() {
+        if (items == null) {
+            Recorder recorder = new Recorder(knownSize(delegate));
+            push(delegate, recorder);
+            recorder.complete();
+        }
+        return items;
+    }
+
+    @Override
+    public int size() {
+        return items().length;
+    }
+
+    @Override
+    protected int knownSize() {
+        return items == null ? knownSize(delegate) : items.length;
+    }
+
+    @Override
+    protected boolean push(Sink<T> sink) {
+        if (items != null) {
+            return push(Arrays.asList(items), sink);
+        }
+        Recorder recorder = new Recorder(knownSize(delegate));
+        recorder.sink = sink;
+        if (!push(delegate, recorder)) {
+            return false;
+        }
+        recorder.complete();
+        return true;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        if (items != null) {
+            return Arrays.asList(items).iterator();
+        }
+        return new RecordingIterator(delegate.iterator());
+    }
+
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        return items == null ? split(delegate, parts) : splitList(
+                Arrays.asList(items), parts);
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        return items == null ? delegate.splitter() : Splitters.array(items,
+                Splitter.ORDERED | Splitter.IMMUTABLE);
+    }
+
+    /** The copy shares the recorded elements, if any. */
+    @Override
+    public Wrapper<T> copy() {
+        MemoizedWrapper<T> copy = new MemoizedWrapper<T>(delegate.copy());
+        copy.items = items;
+        return copy;
+    }
+
+    @Override
+    public Wrapper<T> memoize() {
+        return this;
+    }
+
+    /**
+     * Buffers the elements, optionally passing them on to another sink.
+     */
+    private class Recorder implements Sink<T> {
+
+        private Object[] buffer;
+        private int count = 0;
+        Sink<T> sink;
+
+        Recorder(int size) {
+            buffer = new Object[size < 0 ? INITIAL_CAPACITY : size];
+        }
+
+        @Override
+        public boolean accept(T item) {
+            if (count == buffer.length) {
+                buffer = Arrays.copyOf(buffer, grow(count));
+            }
+            buffer[count++] = item;
+            return sink == null || sink.accept(item);
+        }
+
+        @SuppressWarnings("unchecked")
+        void complete() {
+            items = (T[]) (count == buffer.length ? buffer : Arrays.copyOf(
+                    buffer, count));
+        }
+    }
+
+    /**
+     * Records the elements returned by the delegate iterator; the recording
+     * is kept if the iterator reaches the end without remove() calls.
+     */
+    private class RecordingIterator implements Iterator<T> {
+
+        private final Iterator<T> iterator;
+        private final int expectedVersion = version;
+        private Recorder recorder = new Recorder(knownSize(delegate));
+
+        RecordingIterator(Iterator<T> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (iterator.hasNext()) {
+                return true;
+            }
+            // not recorded if the delegate was replaced meanwhile
+            if (recorder != null && version == expectedVersion) {
+                recorder.complete();
+            }
+            recorder = null;
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!iterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = iterator.next();
+            if (recorder != null) {
+                recorder.accept(item);
+            }
+            return item;
+        }
+
+        @Override
+        public void remove() {
+            iterator.remove();
+            recorder = null;
+        }
+    }
+}
@@ -58,6 +58,11 @@ public class NullWrapper<T> extends AbstractWrapper<T> {
         return this;
     }
 
+    @Override
+    protected int knownSize() {
+        return 0;
+    }
+
     @Override
     public int size() {
         return 0;
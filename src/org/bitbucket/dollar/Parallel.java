@@ -0,0 +1,135 @@
+package org.bitbucket.dollar;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs tasks on a shared pool of daemon threads, one per available processor
+ * besides the calling thread.
+ *
+ * The calling thread takes part in the work: tasks are claimed one at a time
+ * by the caller and by the helpers, and helpers that did not start before
+ * all the tasks are claimed do nothing. So nested parallel operations cannot
+ * deadlock, even when every pool thread is busy.
+ */
+public final class Parallel {
+
+    private Parallel() {
+    }
+
+    private static class Pool {
+
+        static final int HELPERS = Runtime.getRuntime().availableProcessors() - 1;
+
+        static final ExecutorService EXECUTOR = HELPERS <= 0 ? null
+                : Executors.newFixedThreadPool(HELPERS, new ThreadFactory() {
+
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "dollar-parallel-"
+                                + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    /** Number of threads working on a parallel operation, caller included. */
+    public static int parallelism() {
+        return Math.max(Pool.HELPERS, 0) + 1;
+    }
+
+    /**
+     * Runs all the tasks, in no particular order, and returns when all of
+     * them are done. The first exception thrown by a task is rethrown (as is
+     * if unchecked) and the tasks not started yet are skipped.
+     */
+    public static void invokeAll(List<? extends Runnable> tasks) {
+        Preconditions.requireNotNull(tasks, "tasks must be non-null");
+        Work work = new Work(tasks);
+        int helpers = Math.min(Pool.HELPERS, tasks.size() - 1);
+        for (int i = 0; i < helpers; i++) {
+            Pool.EXECUTOR.execute(work);
+        }
+        work.claimAll();
+        work.close();
+
+        Throwable t = work.failure.get();
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        } else if (t instanceof Error) {
+            throw (Error) t;
+        } else if (t != null) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Tasks shared by the caller and the helpers. A helper that starts after
+     * close() returns at once, so the caller only waits for the helpers that
+     * are actually running tasks.
+     */
+    private static class Work implements Runnable {
+
+        private final List<? extends Runnable> tasks;
+        private final AtomicInteger next = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        private int running = 0;
+        private boolean closed = false;
+
+        Work(List<? extends Runnable> tasks) {
+            this.tasks = tasks;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                running++;
+            }
+            try {
+                claimAll();
+            } finally {
+                synchronized (this) {
+                    running--;
+                    notifyAll();
+                }
+            }
+        }
+
+        void claimAll() {
+            int i;
+            while (failure.get() == null
+                    && (i = next.getAndIncrement()) < tasks.size()) {
+                try {
+                    tasks.get(i).run();
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            }
+        }
+
+        synchronized void close() {
+            closed = true;
+            boolean interrupted = false;
+            while (running > 0) {
+                try {
+                    wait();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
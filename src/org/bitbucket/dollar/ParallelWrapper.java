@@ -0,0 +1,320 @@
+package org.bitbucket.dollar;
+
+import static org.bitbucket.dollar.Dollar.not;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.functions.BiFunction;
+import org.bitbucket.dollar.functions.Block;
+import org.bitbucket.dollar.functions.Function;
+import org.bitbucket.dollar.functions.Predicate;
+
+/**
+ * Runs the terminal operations each, any, all, find, indexOf and
+ * reduce(initial, function, combiner) on {@link Parallel} threads. The
+ * delegate is split in parts (see {@link AbstractWrapper#split(int)}); when
+ * it cannot be split the operations run serially.
+ *
+ * map, flatMap, filter, reject, limit, skip and memoize keep the result
+ * parallel.
+ *
+ * @param <T>
+ *            Type contained by this wrapper.
+ */
+public class ParallelWrapper<T> extends AbstractDelegatingWrapper<T> implements
+        Dollar.ParallelWrapper<T> {
+
+    // a few parts per thread, so that a slow part does not stall the others
+    private static final int PARTS_PER_THREAD = 4;
+
+    public ParallelWrapper(Wrapper<T> delegate) {
+        super(Preconditions.requireNotNull(delegate,
+                "delegate must be non-null"));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    protected boolean push(Sink<T> sink) {
+        return push(delegate, sink);
+    }
+
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        return split(delegate, parts);
+    }
+
+    @Override
+    protected int knownSize() {
+        return knownSize(delegate);
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        return delegate.splitter();
+    }
+
+    /** Sorts the int[], long[] and double[] wrappers on several threads. */
+    @Override
+    public Wrapper<T> sort() {
+        delegate = parallelSort(delegate);
+        return this;
+    }
+
+    @Override
+    public Wrapper<T> copy() {
+        return new ParallelWrapper<T>(delegate.copy());
+    }
+
+    @Override
+    public Dollar.ParallelWrapper<T> parallel() {
+        return this;
+    }
+
+    @Override
+    public <R> Dollar.ParallelWrapper<R> map(Function<T, R> function) {
+        return new ParallelWrapper<R>(delegate.map(function));
+    }
+
+    @Override
+    public <R> Dollar.ParallelWrapper<R> flatMap(Function<T, Iterable<R>> function) {
+        return new ParallelWrapper<R>(delegate.flatMap(function));
+    }
+
+    @Override
+    public Dollar.ParallelWrapper<T> filter(Predicate<T> predicate) {
+        return new ParallelWrapper<T>(delegate.filter(predicate));
+    }
+
+    @Override
+    public Dollar.ParallelWrapper<T> reject(Predicate<T> predicate) {
+        return new ParallelWrapper<T>(delegate.reject(predicate));
+    }
+
+    @Override
+    public Dollar.ParallelWrapper<T> limit(int n) {
+        return new ParallelWrapper<T>(delegate.limit(n));
+    }
+
+    @Override
+    public Dollar.ParallelWrapper<T> skip(int n) {
+        return new ParallelWrapper<T>(delegate.skip(n));
+    }
+
+    @Override
+    public Dollar.ParallelWrapper<T> memoize() {
+        return new ParallelWrapper<T>(delegate.memoize());
+    }
+
+    private List<Wrapper<T>> parts() {
+        int parallelism = Parallel.parallelism();
+        if (parallelism == 1) {
+            return null;
+        }
+        List<Wrapper<T>> parts = split(delegate, parallelism * PARTS_PER_THREAD);
+        return parts == null || parts.size() < 2 ? null : parts;
+    }
+
+    /** Calls the function from several threads, in no particular order. */
+    @Override
+    public Wrapper<T> each(final Block<T> function) {
+        final List<Wrapper<T>> parts = parts();
+        if (parts == null) {
+            return super.each(function);
+        }
+        List<Runnable> tasks = new ArrayList<Runnable>(parts.size());
+        for (final Wrapper<T> part : parts) {
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    push(part, new Sink<T>() {
+                        @Override
+                        public boolean accept(T item) {
+                            function.accept(item);
+                            return true;
+                        }
+                    });
+                }
+            });
+        }
+        Parallel.invokeAll(tasks);
+        return this;
+    }
+
+    @Override
+    public <R> R reduce(R initial, final BiFunction<T, R, R> function,
+            BiFunction<R, R, R> combiner) {
+        Preconditions.requireNotNull(combiner, "combiner must be non-null");
+        final List<Wrapper<T>> parts = parts();
+        if (parts == null) {
+            return reduce(initial, function);
+        }
+        final List<R> results = new ArrayList<R>(parts.size());
+        List<Runnable> tasks = new ArrayList<Runnable>(parts.size());
+        for (int i = 0; i < parts.size(); i++) {
+            final int index = i;
+            final R identity = initial;
+            results.add(identity);
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    R value = parts.get(index).reduce(identity, function);
+                    synchronized (results) {
+                        results.set(index, value);
+                    }
+                }
+            });
+        }
+        Parallel.invokeAll(tasks);
+
+        synchronized (results) {
+            R value = results.get(0);
+            for (int i = 1; i < results.size(); i++) {
+                value = combiner.apply(value, results.get(i));
+            }
+            return value;
+        }
+    }
+
+    /** Stops all the threads as soon as one of them finds a match. */
+    @Override
+    public boolean any(final Predicate<T> predicate) {
+        final List<Wrapper<T>> parts = parts();
+        if (parts == null) {
+            return super.any(predicate);
+        }
+        final AtomicBoolean found = new AtomicBoolean();
+        List<Runnable> tasks = new ArrayList<Runnable>(parts.size());
+        for (final Wrapper<T> part : parts) {
+            tasks.add(new Runnable() {
+                @Override
+                public void run() {
+                    push(part, new Sink<T>() {
+                        @Override
+                        public boolean accept(T item) {
+                            if (found.get()) {
+                                return false;
+                            }
+                            if (predicate.test(item)) {
+                                found.set(true);
+                                return false;
+                            }
+                            return true;
+                        }
+                    });
+                }
+            });
+        }
+        Parallel.invokeAll(tasks);
+        return found.get();
+    }
+
+    @Override
+    public boolean all(Predicate<T> predicate) {
+        return !any(not(predicate));
+    }
+
+    @Override
+    public T find(Predicate<T> predicate) {
+        PartFinder finder = new PartFinder(predicate);
+        if (finder.parts == null) {
+            return super.find(predicate);
+        }
+        int part = finder.run();
+        if (part < 0) {
+            throw new NoSuchElementException();
+        }
+        return finder.found.get(part);
+    }
+
+    @Override
+    public int indexOf(Predicate<T> predicate) {
+        PartFinder finder = new PartFinder(predicate);
+        if (finder.parts == null) {
+            return super.indexOf(predicate);
+        }
+        int part = finder.run();
+        if (part < 0) {
+            return -1;
+        }
+        // the parts before the first match were traversed completely
+        int index = 0;
+        for (int i = 0; i <= part; i++) {
+            index += finder.counted[i];
+        }
+        return index;
+    }
+
+    /**
+     * Finds the first match in order: a part stops as soon as a match is
+     * found in a previous part.
+     */
+    private class PartFinder {
+
+        final List<Wrapper<T>> parts = parts();
+        final Predicate<T> predicate;
+        final AtomicInteger first = new AtomicInteger(Integer.MAX_VALUE);
+        final List<T> found = new ArrayList<T>();
+        final int[] counted;
+
+        PartFinder(Predicate<T> predicate) {
+            this.predicate = predicate;
+            this.counted = new int[parts == null ? 0 : parts.size()];
+        }
+
+        /** Returns the index of the first part with a match, or -1. */
+        int run() {
+            List<Runnable> tasks = new ArrayList<Runnable>(parts.size());
+            for (int i = 0; i < parts.size(); i++) {
+                final int part = i;
+                found.add(null);
+                tasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        search(part);
+                    }
+                });
+            }
+            Parallel.invokeAll(tasks);
+            int part = first.get();
+            return part == Integer.MAX_VALUE ? -1 : part;
+        }
+
+        void search(final int part) {
+            final int[] count = new int[1];
+            push(parts.get(part), new Sink<T>() {
+                @Override
+                public boolean accept(T item) {
+                    if (first.get() < part) {
+                        return false;
+                    }
+                    if (predicate.test(item)) {
+                        synchronized (found) {
+                            found.set(part, item);
+                        }
+                        int current;
+                        do {
+                            current = first.get();
+                        } while (part < current
+                                && !first.compareAndSet(current, part));
+                        return false;
+                    }
+                    count[0]++;
+                    return true;
+                }
+            });
+            synchronized (found) {
+                counted[part] = count[0];
+            }
+        }
+    }
+}
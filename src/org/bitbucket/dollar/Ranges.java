@@ -23,66 +23,69 @@ import org.bitbucket.dollar.ranges.ShortRangeWrapper;
 public class Ranges {
 
     /** Range of integers, from 0, exclusive of stopAt. */
-    public static RangeWrapper<Integer> upto(int stopAt) {
+    public static Dollar.IntRangeWrapper<Integer> upto(int stopAt) {
         return new IntRangeWrapper(stopAt);
     }
 
     /** Range of integers, from startFrom, exclusive of stopAt. */
-    public static RangeWrapper<Integer> range(int startFrom, int stopAt) {
+    public static Dollar.IntRangeWrapper<Integer> range(int startFrom,
+            int stopAt) {
         return new IntRangeWrapper(startFrom, stopAt);
     }
 
     /** Range of integers using step, like 5,10,15,20. */
-    public static RangeWrapper<Integer> rangeWithStep(int startFrom,
+    public static Dollar.IntRangeWrapper<Integer> rangeWithStep(int startFrom,
             int stopAt, int stepBy) {
         return new IntRangeWrapper(startFrom, stopAt, stepBy);
     }
 
     /** Range of bytes, from 0, exclusive of stopAt. */
-    public static RangeWrapper<Byte> upto(byte stopAt) {
+    public static Dollar.IntRangeWrapper<Byte> upto(byte stopAt) {
         return new ByteRangeWrapper(stopAt);
     }
 
     /** Range of bytes, from startFrom, exclusive of stopAt. */
-    public static RangeWrapper<Byte> range(byte startFrom, byte stopAt) {
+    public static Dollar.IntRangeWrapper<Byte> range(byte startFrom,
+            byte stopAt) {
         return new ByteRangeWrapper(startFrom, stopAt);
     }
 
     /** Range of bytes using step. */
-    public static RangeWrapper<Byte> rangeWithStep(byte startFrom, byte stopAt,
-            byte stepBy) {
+    public static Dollar.IntRangeWrapper<Byte> rangeWithStep(byte startFrom,
+            byte stopAt, byte stepBy) {
         return new ByteRangeWrapper(startFrom, stopAt, stepBy);
     }
 
     /** Range of shorts, from 0, exclusive of stopAt. */
-    public static RangeWrapper<Short> upto(short stopAt) {
+    public static Dollar.IntRangeWrapper<Short> upto(short stopAt) {
         return new ShortRangeWrapper(stopAt);
     }
 
     /** Range of shorts, from startFrom, exclusive of stopAt. */
-    public static RangeWrapper<Short> range(short startFrom, short stopAt) {
+    public static Dollar.IntRangeWrapper<Short> range(short startFrom,
+            short stopAt) {
         return new ShortRangeWrapper(startFrom, stopAt);
     }
 
     /** Range of shorts using step. */
-    public static RangeWrapper<Short> rangeWithStep(short startFrom,
+    public static Dollar.IntRangeWrapper<Short> rangeWithStep(short startFrom,
             short stopAt, short stepBy) {
         return new ShortRangeWrapper(startFrom, stopAt, stepBy);
     }
 
     /** Range of longs, from 0, exclusive of stopAt. */
-    public static RangeWrapper<Long> upto(long stopAt) {
+    public static Dollar.LongRangeWrapper upto(long stopAt) {
         return new LongRangeWrapper(stopAt);
     }
 
     /** Range of longs, from startFrom, exclusive of stopAt. */
-    public static RangeWrapper<Long> range(long startFrom, long stopAt) {
+    public static Dollar.LongRangeWrapper range(long startFrom, long stopAt) {
         return new LongRangeWrapper(startFrom, stopAt);
     }
 
     /** Range of longs using step. */
-    public static RangeWrapper<Long> rangeWithStep(long startFrom, long stopAt,
-            long stepBy) {
+    public static Dollar.LongRangeWrapper rangeWithStep(long startFrom,
+            long stopAt, long stepBy) {
         return new LongRangeWrapper(startFrom, stopAt, stepBy);
     }
 
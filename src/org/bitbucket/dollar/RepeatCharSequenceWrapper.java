@@ -32,14 +32,18 @@ public class RepeatCharSequenceWrapper extends AbstractWrapper<Character> {
         this.count = count;
     }
 
-    // the "raison d'être" of this class
+    // the "raison d'être" of this class: the separator goes between the
+    // repetitions, each appended as a whole into an exactly sized builder
     @Override
     public String join(String separator) {
-        Separator sep = new Separator(separator);
-        StringBuilder sb = new StringBuilder();
+        Preconditions.requireNotNull(separator, "separator must be non-null");
+        StringBuilder sb = new StringBuilder(Joiner.capacity(count,
+                charSequence.length() + separator.length()));
 
         for (int i = 0; i < count; i++) {
-            sb.append(sep.toString());
+            if (i > 0) {
+                sb.append(separator);
+            }
             sb.append(charSequence);
         }
 
@@ -48,7 +52,7 @@ public class RepeatCharSequenceWrapper extends AbstractWrapper<Character> {
 
     private StringBuilder internalRepeat() {
         // TODO: use a LazyRepeatIterator
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = new StringBuilder(size());
 
         for (int i = 0; i < count; i++) {
             sb.append(charSequence);
@@ -18,60 +18,182 @@ package org.bitbucket.dollar;
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Random;
+import java.util.NoSuchElementException;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
 
+/**
+ * Lazily repeats a wrapper: only the source and the number of repetitions are
+ * stored, the source is iterated again for each repetition. A slice of a
+ * RepeatWrapper is another RepeatWrapper with a different offset and length.
+ */
 public class RepeatWrapper<T> extends AbstractWrapper<T> {
 
-    protected final ConcatWrapper<T> concatWrapper;
+    private final Wrapper<T> source;
+    private final int count;
+    // elements skipped at the beginning and how many follow (-1 if all)
+    private final int offset;
+    private final int length;
 
     public RepeatWrapper(ConcatWrapper<T> concatWrapper) {
-        this.concatWrapper = concatWrapper;
+        this(concatWrapper, 1);
     }
 
     public RepeatWrapper(Wrapper<T> wrapper, int n) {
-        Preconditions.requireNotNull(wrapper , "n must be positive");
+        this(wrapper, n, 0, -1);
+        Preconditions.requireNotNull(wrapper , "wrapper must be non-null");
         Preconditions.require(n > 0, "n must be positive");
-        concatWrapper = new ConcatWrapper<T>(new LinkedList<T>());
-        for (int i = 0; i < n; i++) {
-            concatWrapper.concat(wrapper.copy());
-        }
+    }
+
+    private RepeatWrapper(Wrapper<T> source, int count, int offset,
+            int length) {
+        this.source = source;
+        this.count = count;
+        this.offset = offset;
+        this.length = length;
     }
 
     @Override
     public Iterator<T> iterator() {
-        return concatWrapper.iterator();
+        if (length < 0) {
+            return new RepeatIterator<T>(source, count, 0, -1);
+        }
+        int sourceSize = source.size();
+        if (sourceSize == 0) {
+            return new RepeatIterator<T>(source, 0, 0, 0);
+        }
+        return new RepeatIterator<T>(source, count - offset / sourceSize,
+                offset % sourceSize, length);
+    }
+
+    private static class RepeatIterator<T> implements Iterator<T> {
+
+        private final Wrapper<T> source;
+        private int passes;
+        private int skip;
+        private int remaining;
+        private Iterator<T> current;
+
+        public RepeatIterator(Wrapper<T> source, int passes, int skip,
+                int remaining) {
+            this.source = source;
+            this.passes = passes;
+            this.skip = skip;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remaining == 0) {
+                return false;
+            }
+            while (current == null || !current.hasNext()) {
+                if (passes == 0) {
+                    return false;
+                }
+                passes--;
+                current = source.iterator();
+                for (; skip > 0 && current.hasNext(); skip--) {
+                    current.next();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            if (remaining > 0) {
+                remaining--;
+            }
+            return current.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove() not supported for RepeatWrapper");
+        }
     }
 
     @Override
-    public Wrapper<T> shuffle(Random random) {
-        Preconditions.requireNotNull(random , "random must be non-null");
-        return concatWrapper.shuffle(random);
+    protected boolean push(Sink<T> sink) {
+        if (length >= 0) {
+            return super.push(sink);
+        }
+        for (int i = 0; i < count; i++) {
+            if (!push(source, sink)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected int knownSize() {
+        if (length >= 0) {
+            return length;
+        }
+        long size = knownSize(source);
+        // unknown rather than overflowed
+        return size < 0 || count * size > Integer.MAX_VALUE ? -1
+                : (int) (count * size);
     }
 
     @Override
     public int size() {
-        return concatWrapper.size();
+        if (length >= 0) {
+            return length;
+        }
+        long size = (long) count * source.size();
+        Preconditions.require(size <= Integer.MAX_VALUE,
+                "size must not exceed Integer.MAX_VALUE");
+        return (int) size;
     }
 
     @Override
-    public Wrapper<T> copy() {
-        return new RepeatWrapper<T>((ConcatWrapper<T>) concatWrapper.copy());
+    public Wrapper<T> slice(int i, int j) {
+        if (i >= 0 && i <= j && j <= size()) {
+            return new RepeatWrapper<T>(source, count, offset + i, j - i);
+        } else {
+            return this;
+        }
+    }
+
+    @Override
+    public Wrapper<T> repeat(int n) {
+        Preconditions.require(n > 0, "n must be positive");
+        if (length < 0) {
+            Preconditions.require((long) count * n <= Integer.MAX_VALUE,
+                    "too many repetitions");
+            return new RepeatWrapper<T>(source, count * n, 0, -1);
+        }
+        return new RepeatWrapper<T>(this, n);
     }
 
     @Override
-    public Wrapper<T> sort() {
-        return concatWrapper.sort();
+    public Wrapper<T> copy() {
+        return new RepeatWrapper<T>(source.copy(), count, offset, length);
     }
 
+    /** Compares the elements, however they are repeated. */
     @SuppressWarnings("rawtypes")
     @Override
     public boolean equals(Object object) {
         if (object instanceof RepeatWrapper) {
-            RepeatWrapper repeatWrapper = (RepeatWrapper) object;
-            return concatWrapper.equals(repeatWrapper.concatWrapper); // XXX: deep equals?
+            Iterator mine = iterator();
+            Iterator other = ((RepeatWrapper) object).iterator();
+            while (mine.hasNext() && other.hasNext()) {
+                Object o1 = mine.next();
+                Object o2 = other.next();
+                if (o1 == null ? o2 != null : !o1.equals(o2)) {
+                    return false;
+                }
+            }
+            return !mine.hasNext() && !other.hasNext();
         } else {
             return false;
         }
@@ -79,8 +201,12 @@ public class RepeatWrapper<T> extends AbstractWrapper<T> {
 
     @Override
     public int hashCode() {
+        int listHash = 1;
+        for (T item : this) {
+            listHash = 31 * listHash + (item == null ? 0 : item.hashCode());
+        }
         int hash = 7;
-        hash *= 83 + concatWrapper.hashCode();
+        hash *= 83 + listHash;
         return hash;
     }
 }
@@ -19,14 +19,19 @@ package org.bitbucket.dollar;
  */
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Random;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
 
 public class SetWrapper<T> extends AbstractWrapper<T> implements Dollar.SetWrapper<T> {
 
     private Set<T> set;
+    private boolean concurrent = false;
 
     public SetWrapper(Set<T> set) {
         Preconditions.requireNotNull(set , "set must be non-null");
@@ -35,11 +40,19 @@ public class SetWrapper<T> extends AbstractWrapper<T> implements Dollar.SetWrapp
 
     @Override
     public SetWrapper<T> copy() {
+        if (concurrent) {
+            return new SetWrapper<T>(set).concurrent();
+        }
         Set<T> copy = createSet(set.getClass());
         addToCollection(copy, this);
         return new SetWrapper<T>(copy);
     }
 
+    @Override
+    protected int knownSize() {
+        return set.size();
+    }
+
     @Override
     public int size() {
         return set.size();
@@ -68,9 +81,30 @@ public class SetWrapper<T> extends AbstractWrapper<T> implements Dollar.SetWrapp
         return this;
     }
 
+    /**
+     * Replaces the wrapped set with a concurrent copy: a ConcurrentSkipListSet
+     * with the same comparator for a SortedSet, a set backed by a
+     * ConcurrentHashMap otherwise.
+     */
+    @Override
+    public SetWrapper<T> concurrent() {
+        if (set instanceof SortedSet) {
+            set = new ConcurrentSkipListSet<T>((SortedSet<T>) set);
+        } else {
+            Set<T> copy = Collections.newSetFromMap(
+                    new ConcurrentHashMap<T, Boolean>(Math.max(
+                            INITIAL_CAPACITY, set.size() * 4 / 3 + 1)));
+            copy.addAll(set);
+            set = copy;
+        }
+        concurrent = true;
+        return this;
+    }
+
     @Override
     public SetWrapper<T> immutable() {
         set = Collections.unmodifiableSet(set);
+        concurrent = false;
         return this;
     }
 
@@ -80,6 +114,20 @@ public class SetWrapper<T> extends AbstractWrapper<T> implements Dollar.SetWrapp
         return this;
     }
 
+    @Override
+    public Splitter<T> splitter() {
+        int characteristics = Splitter.DISTINCT;
+        if (set instanceof SortedSet) {
+            characteristics |= Splitter.ORDERED;
+            if (((SortedSet<T>) set).comparator() == null) {
+                characteristics |= Splitter.SORTED;
+            }
+        } else if (set instanceof LinkedHashSet) {
+            characteristics |= Splitter.ORDERED;
+        }
+        return Splitters.iterator(set.iterator(), set.size(), characteristics);
+    }
+
     @Override
     public Set<T> toSet() {
         return set;
@@ -103,8 +151,8 @@ public class SetWrapper<T> extends AbstractWrapper<T> implements Dollar.SetWrapp
     }
 
     @Override
-    public Wrapper<T> sort() {
-        return new SortedSetWrapper<T>(set);
+    public Dollar.SortedWrapper<T> sort() {
+        return new SortedArrayWrapper<T>(set);
     }
 
     @SuppressWarnings("rawtypes")
@@ -0,0 +1,308 @@
+package org.bitbucket.dollar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+import org.bitbucket.dollar.Dollar.Wrapper;
+
+/**
+ * Sorted view over a flat array of references, copied from a collection of
+ * distinct elements (the elements of a Set or the keys of a Map). The array
+ * is sorted with Arrays.sort the first time the order is needed, so that
+ * size(), and first(k) or last(k) for a small k, do not sort it at all.
+ *
+ * contains and the range queries are binary searches. Ranges, first(k),
+ * last(k), slices and splits are views sharing the same sorted array. The
+ * elements are compared with the given comparator, Comparable elements in
+ * natural order (nulls last) by default.
+ *
+ * @param <T>
+ *            Type of the elements.
+ */
+public class SortedArrayWrapper<T> extends AbstractWrapper<T> implements
+        Dollar.SortedWrapper<T> {
+
+    private final Items items;
+    private final Comparator<T> comparator;
+    private final int from;
+    private final int to;
+
+    public SortedArrayWrapper(Collection<T> collection) {
+        this(collection, AbstractWrapper.<T> naturalOrder());
+    }
+
+    public SortedArrayWrapper(Collection<T> collection,
+            Comparator<T> comparator) {
+        this(new Items(Preconditions.requireNotNull(collection,
+                "collection must be non-null").toArray(), isSorted(collection,
+                comparator)), Preconditions.requireNotNull(comparator,
+                "comparator must be non-null"), 0, Integer.MAX_VALUE);
+    }
+
+    /** A SortedSet in natural order needs no sorting. */
+    private static boolean isSorted(Collection<?> collection,
+            Comparator<?> comparator) {
+        return collection instanceof SortedSet
+                && ((SortedSet<?>) collection).comparator() == null
+                && comparator == naturalOrder();
+    }
+
+    private SortedArrayWrapper(Items items, Comparator<T> comparator,
+            int from, int to) {
+        this.items = items;
+        this.comparator = comparator;
+        this.from = from;
+        this.to = Math.min(to, items.array.length);
+    }
+
+    /** The shared array, which may still be unsorted. */
+    private static class Items {
+
+        final Object[] array;
+        private volatile boolean sorted;
+
+        Items(Object[] array, boolean sorted) {
+            this.array = array;
+            this.sorted = sorted;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        Object[] sorted(Comparator comparator) {
+            if (!sorted) {
+                synchronized (this) {
+                    if (!sorted) {
+                        Arrays.sort(array, comparator);
+                        sorted = true;
+                    }
+                }
+            }
+            return array;
+        }
+    }
+
+    private Object[] array() {
+        return items.sorted(comparator);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T get(Object[] array, int index) {
+        return (T) array[index];
+    }
+
+    private SortedArrayWrapper<T> view(int start, int end) {
+        if (start == from && end == to) {
+            return this;
+        }
+        return new SortedArrayWrapper<T>(items, comparator, start, end);
+    }
+
+    /** Index of the first element not lower than item. */
+    private int lowerBound(Object[] array, T item) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(get(array, mid), item) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        Object[] array = array();
+        int index = lowerBound(array, item);
+        return index < to && comparator.compare(get(array, index), item) == 0;
+    }
+
+    @Override
+    public Dollar.SortedWrapper<T> range(T fromItem, T toItem) {
+        Preconditions.require(comparator.compare(fromItem, toItem) <= 0,
+                "fromItem must not be greater than toItem");
+        Object[] array = array();
+        return view(lowerBound(array, fromItem), lowerBound(array, toItem));
+    }
+
+    @Override
+    public Dollar.SortedWrapper<T> head(T toItem) {
+        return view(from, lowerBound(array(), toItem));
+    }
+
+    @Override
+    public Dollar.SortedWrapper<T> tail(T fromItem) {
+        return view(lowerBound(array(), fromItem), to);
+    }
+
+    @Override
+    public Dollar.SortedWrapper<T> first(int k) {
+        Preconditions.require(k >= 0, "k must be non-negative");
+        k = Math.min(k, to - from);
+        synchronized (items) {
+            if (!items.sorted && k < (to - from) >> 3) {
+                return selected(unsorted().bottom(k, comparator));
+            }
+        }
+        return view(from, from + k);
+    }
+
+    @Override
+    public Dollar.SortedWrapper<T> last(int k) {
+        Preconditions.require(k >= 0, "k must be non-negative");
+        k = Math.min(k, to - from);
+        synchronized (items) {
+            if (!items.sorted && k < (to - from) >> 3) {
+                List<T> top = unsorted().top(k, comparator).toList();
+                Collections.reverse(top);
+                return selected(top);
+            }
+        }
+        return view(to - k, to);
+    }
+
+    /** The elements in the order of the array, sorted or not yet. */
+    @SuppressWarnings("unchecked")
+    private Wrapper<T> unsorted() {
+        List<Object> list = Arrays.asList(items.array).subList(from, to);
+        return new ListWrapper<T>((List<T>) list);
+    }
+
+    /** Wraps the elements selected (in order) from the unsorted array. */
+    private Dollar.SortedWrapper<T> selected(Iterable<T> selection) {
+        List<T> list = new ArrayList<T>();
+        addToCollection(list, selection);
+        return new SortedArrayWrapper<T>(new Items(list.toArray(), true),
+                comparator, 0, list.size());
+    }
+
+    @Override
+    public Wrapper<T> sortedPrefix(int k) {
+        if (comparator == naturalOrder()) {
+            return first(k);
+        }
+        return super.sortedPrefix(k);
+    }
+
+    // already sorted
+    @Override
+    public Wrapper<T> sort() {
+        if (comparator == naturalOrder()) {
+            return this;
+        }
+        return super.sort();
+    }
+
+    @Override
+    public Wrapper<T> sort(Comparator<T> comparator) {
+        if (this.comparator.equals(comparator)) {
+            return this;
+        }
+        return super.sort(comparator);
+    }
+
+    @Override
+    public Wrapper<T> slice(int i, int j) {
+        if (i >= 0 && j < size()) {
+            return view(from + i, from + j);
+        }
+        return this;
+    }
+
+    /** Shares the array, which is never modified once sorted. */
+    @Override
+    public Wrapper<T> copy() {
+        return new SortedArrayWrapper<T>(items, comparator, from, to);
+    }
+
+    @Override
+    protected int knownSize() {
+        return to - from;
+    }
+
+    @Override
+    public int size() {
+        return to - from;
+    }
+
+    @Override
+    protected boolean push(Sink<T> sink) {
+        Object[] array = array();
+        for (int i = from; i < to; i++) {
+            if (!sink.accept(get(array, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        final Object[] array = array();
+        return new Iterator<T>() {
+
+            private int index = from;
+
+            @Override
+            public boolean hasNext() {
+                return index < to;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(array, index++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException(
+                        "remove() not supported for SortedArrayWrapper");
+            }
+        };
+    }
+
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        array();
+        int size = to - from;
+        parts = Math.min(parts, size);
+        List<Wrapper<T>> split = new ArrayList<Wrapper<T>>(parts);
+        for (int i = 0; i < parts; i++) {
+            split.add(view(from + partStart(size, parts, i), from
+                    + partStart(size, parts, i + 1)));
+        }
+        return split;
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        final Object[] array = array();
+        int characteristics = Splitter.ORDERED | Splitter.DISTINCT
+                | Splitter.IMMUTABLE;
+        if (comparator == naturalOrder()) {
+            characteristics |= Splitter.SORTED;
+        }
+        return Splitters.indexed(new Splitters.Indexed<T>() {
+            @Override
+            public T get(int index) {
+                return SortedArrayWrapper.this.get(array, from + index);
+            }
+        }, to - from, characteristics);
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
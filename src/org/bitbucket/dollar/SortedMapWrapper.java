@@ -20,8 +20,6 @@ package org.bitbucket.dollar;
 import java.util.Map;
 import java.util.TreeMap;
 
-import org.bitbucket.dollar.Dollar.Wrapper;
-
 public class SortedMapWrapper<K, V> extends MapWrapper<K, V> {
 
     public SortedMapWrapper(Map<K, V> map) {
@@ -29,7 +27,7 @@ public class SortedMapWrapper<K, V> extends MapWrapper<K, V> {
     }
 
     @Override
-    public Wrapper<K> sort() {
-        return this;
+    public Dollar.SortedWrapper<K> sort() {
+        return new SortedArrayWrapper<K>(toMap().keySet());
     }
 }
@@ -20,8 +20,6 @@ package org.bitbucket.dollar;
 import java.util.Set;
 import java.util.TreeSet;
 
-import org.bitbucket.dollar.Dollar.Wrapper;
-
 public class SortedSetWrapper<T> extends SetWrapper<T> {
 
     public SortedSetWrapper(Set<T> set) {
@@ -29,7 +27,7 @@ public class SortedSetWrapper<T> extends SetWrapper<T> {
     }
 
     @Override
-    public Wrapper<T> sort() {
-        return this;
+    public Dollar.SortedWrapper<T> sort() {
+        return new SortedArrayWrapper<T>(toSet());
     }
 }
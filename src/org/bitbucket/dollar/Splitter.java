@@ -0,0 +1,58 @@
+package org.bitbucket.dollar;
+
+import org.bitbucket.dollar.functions.Block;
+
+/**
+ * Traverses and partitions the elements of a wrapper, like Java 8
+ * Spliterator (the characteristics have the same values). Obtained from
+ * {@link Dollar.Wrapper#splitter()}; see {@link Splitters} for the common
+ * implementations.
+ *
+ * @param <T>
+ *            Type of the elements.
+ */
+public interface Splitter<T> {
+
+    /** The elements have a defined encounter order. */
+    int ORDERED = 0x00000010;
+
+    /** No two elements are equal. */
+    int DISTINCT = 0x00000001;
+
+    /** The elements are in natural order. */
+    int SORTED = 0x00000004;
+
+    /** estimateSize() is the exact number of elements before splitting. */
+    int SIZED = 0x00000040;
+
+    /** The source cannot be modified. */
+    int IMMUTABLE = 0x00000400;
+
+    /** The splitters returned by trySplit() are SIZED and SUBSIZED too. */
+    int SUBSIZED = 0x00004000;
+
+    /**
+     * Performs the action on the next element, if any.
+     *
+     * @return false if there were no elements left.
+     */
+    boolean tryAdvance(Block<T> action);
+
+    /** Performs the action on every remaining element. */
+    void forEachRemaining(Block<T> action);
+
+    /**
+     * Moves a prefix of the remaining elements to a new splitter, or returns
+     * null if this splitter cannot (or should not) be split.
+     */
+    Splitter<T> trySplit();
+
+    /**
+     * Number of elements left, or Long.MAX_VALUE if unknown. Exact when this
+     * splitter is SIZED.
+     */
+    long estimateSize();
+
+    /** Bitwise or of ORDERED, DISTINCT, SORTED, SIZED, IMMUTABLE, SUBSIZED. */
+    int characteristics();
+}
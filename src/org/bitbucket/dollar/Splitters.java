@@ -0,0 +1,350 @@
+package org.bitbucket.dollar;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.bitbucket.dollar.functions.Block;
+import org.bitbucket.dollar.functions.Function;
+import org.bitbucket.dollar.functions.Predicate;
+
+/**
+ * Common {@link Splitter} implementations: index based (split in halves),
+ * iterator based (split in batches copied to an array), and mapped or
+ * filtered views of another splitter.
+ */
+public final class Splitters {
+
+    private Splitters() {
+    }
+
+    /** Random access to the elements of a source. */
+    public interface Indexed<T> {
+
+        T get(int index);
+    }
+
+    /**
+     * Splitter over the elements 0 (inclusive) to size (exclusive) of source;
+     * always SIZED and SUBSIZED.
+     */
+    public static <T> Splitter<T> indexed(Indexed<T> source, int size,
+            int characteristics) {
+        Preconditions.requireNotNull(source, "source must be non-null");
+        Preconditions.require(size >= 0, "size must be non-negative");
+        return new IndexedSplitter<T>(source, 0, size, characteristics
+                | Splitter.SIZED | Splitter.SUBSIZED);
+    }
+
+    public static <T> Splitter<T> array(T[] array, int characteristics) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        return indexed(new ArrayIndexed<T>(array), array.length,
+                characteristics);
+    }
+
+    /** Index based for RandomAccess lists, iterator based otherwise. */
+    public static <T> Splitter<T> list(final List<T> list, int characteristics) {
+        Preconditions.requireNotNull(list, "list must be non-null");
+        if (list instanceof RandomAccess) {
+            return indexed(new Indexed<T>() {
+                @Override
+                public T get(int index) {
+                    return list.get(index);
+                }
+            }, list.size(), characteristics);
+        }
+        return iterator(list.iterator(), list.size(), characteristics);
+    }
+
+    /**
+     * Splitter over the remaining elements of iterator.
+     *
+     * @param size
+     *            Number of elements, or -1 if unknown. When known the splitter
+     *            is SIZED.
+     */
+    public static <T> Splitter<T> iterator(Iterator<T> iterator, long size,
+            int characteristics) {
+        Preconditions.requireNotNull(iterator, "iterator must be non-null");
+        if (size < 0) {
+            return new IteratorSplitter<T>(iterator, Long.MAX_VALUE,
+                    characteristics & ~(Splitter.SIZED | Splitter.SUBSIZED));
+        }
+        return new IteratorSplitter<T>(iterator, size, characteristics
+                | Splitter.SIZED);
+    }
+
+    /** Splitter applying function to each element of source. */
+    public static <T, R> Splitter<R> map(Splitter<T> source,
+            Function<T, R> function) {
+        Preconditions.requireNotNull(source, "source must be non-null");
+        Preconditions.requireNotNull(function, "function must be non-null");
+        return new MappedSplitter<T, R>(source, function);
+    }
+
+    /** Splitter over the elements of source satisfying predicate. */
+    public static <T> Splitter<T> filter(Splitter<T> source,
+            Predicate<T> predicate) {
+        Preconditions.requireNotNull(source, "source must be non-null");
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        return new FilterSplitter<T>(source, predicate);
+    }
+
+    private static class IndexedSplitter<T> implements Splitter<T> {
+
+        private final Indexed<T> source;
+        private int origin;
+        private final int fence;
+        private final int characteristics;
+
+        IndexedSplitter(Indexed<T> source, int origin, int fence,
+                int characteristics) {
+            this.source = source;
+            this.origin = origin;
+            this.fence = fence;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public boolean tryAdvance(Block<T> action) {
+            if (origin < fence) {
+                action.accept(source.get(origin++));
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Block<T> action) {
+            int i = origin;
+            origin = fence;
+            for (; i < fence; i++) {
+                action.accept(source.get(i));
+            }
+        }
+
+        @Override
+        public Splitter<T> trySplit() {
+            int mid = (origin + fence) >>> 1;
+            if (mid <= origin) {
+                return null;
+            }
+            Splitter<T> prefix = new IndexedSplitter<T>(source, origin, mid,
+                    characteristics);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
+    private static class IteratorSplitter<T> implements Splitter<T> {
+
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+
+        private final Iterator<T> iterator;
+        private long size;
+        private final int characteristics;
+        private int batch = 0;
+
+        IteratorSplitter(Iterator<T> iterator, long size, int characteristics) {
+            this.iterator = iterator;
+            this.size = size;
+            this.characteristics = characteristics;
+        }
+
+        @Override
+        public boolean tryAdvance(Block<T> action) {
+            if (iterator.hasNext()) {
+                action.accept(iterator.next());
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public void forEachRemaining(Block<T> action) {
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+            }
+        }
+
+        /** Copies a batch, one BATCH_UNIT longer than the previous one. */
+        @Override
+        public Splitter<T> trySplit() {
+            if (size <= 1 || !iterator.hasNext()) {
+                return null;
+            }
+            int n = Math.min(batch + BATCH_UNIT, MAX_BATCH);
+            if (n > size) {
+                n = (int) size;
+            }
+            Object[] items = new Object[n];
+            int count = 0;
+            while (count < n && iterator.hasNext()) {
+                items[count++] = iterator.next();
+            }
+            batch = count;
+            if (size != Long.MAX_VALUE) {
+                size -= count;
+            }
+            @SuppressWarnings("unchecked")
+            T[] prefix = (T[]) items;
+            return new IndexedSplitter<T>(new ArrayIndexed<T>(prefix), 0,
+                    count, characteristics | Splitter.SIZED
+                            | Splitter.SUBSIZED);
+        }
+
+        @Override
+        public long estimateSize() {
+            return size;
+        }
+
+        @Override
+        public int characteristics() {
+            return characteristics;
+        }
+    }
+
+    private static class ArrayIndexed<T> implements Indexed<T> {
+
+        private final T[] array;
+
+        ArrayIndexed(T[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public T get(int index) {
+            return array[index];
+        }
+    }
+
+    private static class MappedSplitter<T, R> implements Splitter<R> {
+
+        private final Splitter<T> source;
+        private final Function<T, R> function;
+
+        MappedSplitter(Splitter<T> source, Function<T, R> function) {
+            this.source = source;
+            this.function = function;
+        }
+
+        @Override
+        public boolean tryAdvance(final Block<R> action) {
+            return source.tryAdvance(new Block<T>() {
+                @Override
+                public void accept(T t) {
+                    action.accept(function.apply(t));
+                }
+            });
+        }
+
+        @Override
+        public void forEachRemaining(final Block<R> action) {
+            source.forEachRemaining(new Block<T>() {
+                @Override
+                public void accept(T t) {
+                    action.accept(function.apply(t));
+                }
+            });
+        }
+
+        @Override
+        public Splitter<R> trySplit() {
+            Splitter<T> prefix = source.trySplit();
+            return prefix == null ? null : new MappedSplitter<T, R>(prefix,
+                    function);
+        }
+
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        // the function may map distinct elements to equal ones
+        @Override
+        public int characteristics() {
+            return source.characteristics()
+                    & ~(Splitter.DISTINCT | Splitter.SORTED);
+        }
+    }
+
+    private static class FilterSplitter<T> implements Splitter<T> {
+
+        private final Splitter<T> source;
+        private final Predicate<T> predicate;
+        private boolean matched;
+        private T item;
+
+        private final Block<T> test = new Block<T>() {
+            @Override
+            public void accept(T t) {
+                if (predicate.test(t)) {
+                    item = t;
+                    matched = true;
+                }
+            }
+        };
+
+        FilterSplitter(Splitter<T> source, Predicate<T> predicate) {
+            this.source = source;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean tryAdvance(Block<T> action) {
+            matched = false;
+            while (!matched && source.tryAdvance(test)) {
+                // skips the elements not satisfying predicate
+            }
+            if (!matched) {
+                return false;
+            }
+            T t = item;
+            item = null;
+            action.accept(t);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final Block<T> action) {
+            source.forEachRemaining(new Block<T>() {
+                @Override
+                public void accept(T t) {
+                    if (predicate.test(t)) {
+                        action.accept(t);
+                    }
+                }
+            });
+        }
+
+        @Override
+        public Splitter<T> trySplit() {
+            Splitter<T> prefix = source.trySplit();
+            return prefix == null ? null : new FilterSplitter<T>(prefix,
+                    predicate);
+        }
+
+        /** An upper bound: the size of source. */
+        @Override
+        public long estimateSize() {
+            return source.estimateSize();
+        }
+
+        @Override
+        public int characteristics() {
+            return source.characteristics()
+                    & ~(Splitter.SIZED | Splitter.SUBSIZED);
+        }
+    }
+}
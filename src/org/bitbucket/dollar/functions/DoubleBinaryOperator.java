@@ -0,0 +1,14 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Represents a Function with two double arguments returning a double, without
+ * boxing.
+ */
+@Functional
+public interface DoubleBinaryOperator {
+
+    /** Yield an appropriate result for the input values. */
+    double apply(double left, double right);
+
+}
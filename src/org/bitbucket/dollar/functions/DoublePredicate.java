@@ -0,0 +1,12 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Determines if the input double matches some criteria, without boxing.
+ */
+@Functional
+public interface DoublePredicate {
+
+    boolean test(double value);
+
+}
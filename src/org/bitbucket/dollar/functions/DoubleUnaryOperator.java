@@ -0,0 +1,13 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Represents a Function from double to double, without boxing.
+ */
+@Functional
+public interface DoubleUnaryOperator {
+
+    /** Yield an appropriate result for the input value. */
+    double apply(double value);
+
+}
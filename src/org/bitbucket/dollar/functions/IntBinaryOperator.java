@@ -0,0 +1,14 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Represents a Function with two int arguments returning a int, without
+ * boxing.
+ */
+@Functional
+public interface IntBinaryOperator {
+
+    /** Yield an appropriate result for the input values. */
+    int apply(int left, int right);
+
+}
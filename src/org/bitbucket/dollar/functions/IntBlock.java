@@ -0,0 +1,12 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * An operation upon an input int, without boxing.
+ */
+@Functional
+public interface IntBlock {
+
+    void accept(int value);
+
+}
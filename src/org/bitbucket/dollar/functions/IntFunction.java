@@ -0,0 +1,15 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Transforms an int to an object, without boxing the input.
+ * 
+ * @param <R>
+ *            type of the output.
+ */
+@Functional
+public interface IntFunction<R> {
+
+    R apply(int value);
+
+}
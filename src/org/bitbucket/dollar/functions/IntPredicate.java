@@ -0,0 +1,12 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Determines if the input int matches some criteria, without boxing.
+ */
+@Functional
+public interface IntPredicate {
+
+    boolean test(int value);
+
+}
@@ -0,0 +1,13 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Represents a Function from int to int, without boxing.
+ */
+@Functional
+public interface IntUnaryOperator {
+
+    /** Yield an appropriate result for the input value. */
+    int apply(int value);
+
+}
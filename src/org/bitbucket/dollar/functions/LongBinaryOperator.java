@@ -0,0 +1,14 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Represents a Function with two long arguments returning a long, without
+ * boxing.
+ */
+@Functional
+public interface LongBinaryOperator {
+
+    /** Yield an appropriate result for the input values. */
+    long apply(long left, long right);
+
+}
@@ -0,0 +1,12 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * An operation upon an input long, without boxing.
+ */
+@Functional
+public interface LongBlock {
+
+    void accept(long value);
+
+}
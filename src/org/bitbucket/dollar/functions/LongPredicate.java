@@ -0,0 +1,12 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Determines if the input long matches some criteria, without boxing.
+ */
+@Functional
+public interface LongPredicate {
+
+    boolean test(long value);
+
+}
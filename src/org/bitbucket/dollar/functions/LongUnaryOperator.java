@@ -0,0 +1,13 @@
+package org.bitbucket.dollar.functions;
+
+
+/**
+ * Represents a Function from long to long, without boxing.
+ */
+@Functional
+public interface LongUnaryOperator {
+
+    /** Yield an appropriate result for the input value. */
+    long apply(long value);
+
+}
@@ -0,0 +1,396 @@
+package org.bitbucket.dollar.primitives;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.bitbucket.dollar.AbstractWrapper;
+import org.bitbucket.dollar.ArrayWrapper;
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
+
+/**
+ * Stores booleans as the bits of a long[], 64 per word: all, any, count and
+ * the logical operations work a word at a time. Iterating yields the shared
+ * Boolean.TRUE and Boolean.FALSE, so nothing is allocated per element.
+ *
+ * The bits past the length in the last word are always 0.
+ */
+public class BooleanWrapper extends AbstractWrapper<Boolean> implements
+        Dollar.BooleanWrapper {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_SIZE = 1 << WORD_SHIFT;
+
+    protected long[] words;
+    protected int length;
+
+    public BooleanWrapper(boolean[] booleans) {
+        Preconditions.requireNotNull(booleans, "array must be non-null");
+        this.length = booleans.length;
+        this.words = new long[wordCount(length)];
+        for (int i = 0; i < length; i++) {
+            if (booleans[i]) {
+                words[i >>> WORD_SHIFT] |= 1L << i;
+            }
+        }
+    }
+
+    private BooleanWrapper(long[] words, int length) {
+        this.words = words;
+        this.length = length;
+    }
+
+    private static int wordCount(int length) {
+        return (length + WORD_SIZE - 1) >>> WORD_SHIFT;
+    }
+
+    /** Mask of the bits in use in the last word. */
+    private static long lastWordMask(int length) {
+        return -1L >>> -length;
+    }
+
+    private static boolean get(long[] words, int index) {
+        return (words[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    private void set(int index, boolean value) {
+        if (value) {
+            words[index >>> WORD_SHIFT] |= 1L << index;
+        } else {
+            words[index >>> WORD_SHIFT] &= ~(1L << index);
+        }
+    }
+
+    @Override
+    public boolean get(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index: " + index
+                    + ", size: " + length);
+        }
+        return get(words, index);
+    }
+
+    @Override
+    public boolean all() {
+        int full = length >>> WORD_SHIFT;
+        for (int i = 0; i < full; i++) {
+            if (words[i] != -1L) {
+                return false;
+            }
+        }
+        return full == words.length
+                || words[full] == lastWordMask(length);
+    }
+
+    @Override
+    public boolean any() {
+        for (long word : words) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int count() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private long[] wordsOf(Dollar.BooleanWrapper other) {
+        Preconditions.requireNotNull(other, "other must be non-null");
+        Preconditions.require(other.size() == length,
+                "other must have the same size");
+        if (other instanceof BooleanWrapper) {
+            return ((BooleanWrapper) other).words;
+        }
+        return new BooleanWrapper(other.toBooleanArray()).words;
+    }
+
+    @Override
+    public Dollar.BooleanWrapper and(Dollar.BooleanWrapper other) {
+        long[] others = wordsOf(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] & others[i];
+        }
+        return new BooleanWrapper(result, length);
+    }
+
+    @Override
+    public Dollar.BooleanWrapper or(Dollar.BooleanWrapper other) {
+        long[] others = wordsOf(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] | others[i];
+        }
+        return new BooleanWrapper(result, length);
+    }
+
+    @Override
+    public Dollar.BooleanWrapper xor(Dollar.BooleanWrapper other) {
+        long[] others = wordsOf(other);
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = words[i] ^ others[i];
+        }
+        return new BooleanWrapper(result, length);
+    }
+
+    @Override
+    public Dollar.BooleanWrapper not() {
+        long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) {
+            result[i] = ~words[i];
+        }
+        if (result.length > 0) {
+            result[result.length - 1] &= lastWordMask(length);
+        }
+        return new BooleanWrapper(result, length);
+    }
+
+    @Override
+    public Iterator<Boolean> iterator() {
+        return new BooleanIterator(words, length);
+    }
+
+    private static class BooleanIterator implements Iterator<Boolean> {
+
+        private int i = 0;
+        private final long[] words;
+        private final int length;
+
+        public BooleanIterator(long[] words, int length) {
+            this.words = words;
+            this.length = length;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < length;
+        }
+
+        @Override
+        public Boolean next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return Boolean.valueOf(get(words, i++));
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove() not supported for BooleanWrapper");
+        }
+    }
+
+    @Override
+    protected boolean push(Sink<Boolean> sink) {
+        long[] words = this.words;
+        int length = this.length;
+        for (int w = 0, i = 0; i < length; w++) {
+            long word = words[w];
+            int end = Math.min(length, i + WORD_SIZE);
+            for (; i < end; i++, word >>>= 1) {
+                if (!sink.accept(Boolean.valueOf((word & 1) != 0))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Splitter<Boolean> splitter() {
+        final long[] words = this.words;
+        return Splitters.indexed(new Splitters.Indexed<Boolean>() {
+            @Override
+            public Boolean get(int index) {
+                return Boolean.valueOf(BooleanWrapper.get(words, index));
+            }
+        }, length, Splitter.ORDERED);
+    }
+
+    @Override
+    public Wrapper<Boolean> copy() {
+        return new BooleanWrapper(words.clone(), length);
+    }
+
+    @Override
+    protected int knownSize() {
+        return length;
+    }
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    /** A null object is stored as false. */
+    @Override
+    public Wrapper<Boolean> fill(Boolean object) {
+        boolean value = object != null && object.booleanValue();
+        Arrays.fill(words, value ? -1L : 0L);
+        if (value && words.length > 0) {
+            words[words.length - 1] &= lastWordMask(length);
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Boolean> shuffle(Random random) {
+        Preconditions.requireNotNull(random, "random must be non-null");
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            boolean item = get(words, i);
+            set(i, get(words, j));
+            set(j, item);
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Boolean> slice(int i, int j) {
+        if (i >= 0 && i <= j && j <= length) {
+            words = range(words, i, j);
+            length = j - i;
+        }
+        return this;
+    }
+
+    /** The bits from (inclusive) to (exclusive), shifted to bit 0. */
+    private static long[] range(long[] words, int from, int to) {
+        int length = to - from;
+        long[] result = new long[wordCount(length)];
+        int shift = from & (WORD_SIZE - 1);
+        int first = from >>> WORD_SHIFT;
+        for (int w = 0; w < result.length; w++) {
+            long word = words[first + w] >>> shift;
+            if (shift != 0 && first + w + 1 < words.length) {
+                word |= words[first + w + 1] << -shift;
+            }
+            result[w] = word;
+        }
+        if (result.length > 0) {
+            result[result.length - 1] &= lastWordMask(length);
+        }
+        return result;
+    }
+
+    /** false before true. */
+    @Override
+    public Wrapper<Boolean> sort() {
+        int falses = length - count();
+        Arrays.fill(words, 0L);
+        for (int i = falses; i < length; i++) {
+            set(i, true);
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Boolean> reverse() {
+        for (int i = 0, j = length - 1; i < j; i++, j--) {
+            boolean temp = get(words, i);
+            set(i, get(words, j));
+            set(j, temp);
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Boolean> repeat(int n) {
+        Preconditions.require(n > 0, "n must be positive");
+        BooleanWrapper repeated = new BooleanWrapper(
+                new long[wordCount(n * length)], n * length);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < length; j++) {
+                if (get(words, j)) {
+                    repeated.set(i * length + j, true);
+                }
+            }
+        }
+        return repeated;
+    }
+
+    /** true if any, null if empty. */
+    @Override
+    public Boolean max() {
+        return length == 0 ? null : Boolean.valueOf(any());
+    }
+
+    /** false unless all, null if empty. */
+    @Override
+    public Boolean min() {
+        return length == 0 ? null : Boolean.valueOf(all());
+    }
+
+    @Override
+    public Boolean[] toArray() {
+        Boolean[] boxed = new Boolean[length];
+        for (int i = 0; i < length; i++) {
+            boxed[i] = Boolean.valueOf(get(words, i));
+        }
+        return boxed;
+    }
+
+    @Override
+    public boolean[] toBooleanArray() {
+        boolean[] booleans = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            booleans[i] = get(words, i);
+        }
+        return booleans;
+    }
+
+    @Override
+    public String join(String separator) {
+        Preconditions.requireNotNull(separator, "separator must be non-null");
+        Joiner joiner = new Joiner(separator, length);
+        for (int i = 0; i < length; i++) {
+            joiner.next().append(get(words, i));
+        }
+        return joiner.toString();
+    }
+
+    /** Also equal to an array wrapper of the same Boolean elements. */
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof BooleanWrapper) {
+            BooleanWrapper booleanWrapper = (BooleanWrapper) object;
+            return length == booleanWrapper.length
+                    && Arrays.equals(words, booleanWrapper.words);
+        } else if (object instanceof ArrayWrapper) {
+            return Arrays.equals(toArray(), ((ArrayWrapper<?>) object)
+                    .toArray());
+        } else {
+            return false;
+        }
+    }
+
+    /** Same as Arrays.hashCode of the elements. */
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + (get(words, i) ? 1231 : 1237);
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toBooleanArray());
+    }
+}
@@ -0,0 +1,307 @@
+package org.bitbucket.dollar.primitives;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.bitbucket.dollar.AbstractWrapper;
+import org.bitbucket.dollar.ArrayWrapper;
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
+import org.bitbucket.dollar.functions.DoubleBinaryOperator;
+import org.bitbucket.dollar.functions.DoublePredicate;
+import org.bitbucket.dollar.functions.DoubleUnaryOperator;
+
+/**
+ * Wraps a double[] directly, so that the primitive operations (mapDouble,
+ * filterDouble, reduce, sort, min, max, sum) never box. Only the generic
+ * Wrapper methods (iterator, map(Function), ...) box elements, one at a time.
+ */
+public class DoubleWrapper extends AbstractWrapper<Double> implements
+        Dollar.DoubleWrapper {
+
+    protected double[] array;
+    // array is the caller's until an in-place operation copies it
+    private boolean shared;
+
+    public DoubleWrapper(double[] array) {
+        this(Preconditions.requireNotNull(array, "array must be non-null"),
+                true);
+    }
+
+    private DoubleWrapper(double[] array, boolean shared) {
+        this.array = array;
+        this.shared = shared;
+    }
+
+    /** The array to modify in place, copied first if it is the caller's. */
+    private double[] writable() {
+        if (shared) {
+            array = array.clone();
+            shared = false;
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<Double> iterator() {
+        return new DoubleIterator(array);
+    }
+
+    private static class DoubleIterator implements Iterator<Double> {
+
+        private int i = 0;
+        private final double[] array;
+
+        public DoubleIterator(double[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < array.length;
+        }
+
+        @Override
+        public Double next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return array[i++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove() not supported for DoubleWrapper");
+        }
+    }
+
+    @Override
+    protected boolean push(Sink<Double> sink) {
+        for (double value : array) {
+            if (!sink.accept(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Splitter<Double> splitter() {
+        final double[] array = this.array;
+        return Splitters.indexed(new Splitters.Indexed<Double>() {
+            @Override
+            public Double get(int index) {
+                return array[index];
+            }
+        }, array.length, Splitter.ORDERED);
+    }
+
+    @Override
+    public Wrapper<Double> copy() {
+        return new DoubleWrapper(Arrays.copyOf(array, array.length), false);
+    }
+
+    @Override
+    protected int knownSize() {
+        return array.length;
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /** A null object is stored as 0. */
+    @Override
+    public Wrapper<Double> fill(Double object) {
+        Arrays.fill(writable(), object == null ? 0.0D : object.doubleValue());
+        return this;
+    }
+
+    @Override
+    public Wrapper<Double> shuffle(Random random) {
+        Preconditions.requireNotNull(random, "random must be non-null");
+        double[] array = writable();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            double item = array[i];
+            array[i] = array[j];
+            array[j] = item;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Double> slice(int i, int j) {
+        if (i >= 0 && i <= j && j <= array.length) {
+            array = Arrays.copyOfRange(array, i, j);
+            shared = false;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Double> sort() {
+        Sorting.sort(writable());
+        return this;
+    }
+
+    @Override
+    protected Wrapper<Double> parallelSort() {
+        Sorting.parallelSort(writable());
+        return this;
+    }
+
+    @Override
+    public Wrapper<Double> reverse() {
+        double[] array = writable();
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            double temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Double> repeat(int n) {
+        Preconditions.require(n > 0, "n must be positive");
+        double[] repeated = new double[n * array.length];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(array, 0, repeated, i * array.length,
+                    array.length);
+        }
+        return new DoubleWrapper(repeated, false);
+    }
+
+    @Override
+    public Dollar.DoubleWrapper mapDouble(DoubleUnaryOperator operator) {
+        Preconditions.requireNotNull(operator, "operator must be non-null");
+        double[] mapped = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            mapped[i] = operator.apply(array[i]);
+        }
+        return new DoubleWrapper(mapped, false);
+    }
+
+    @Override
+    public Dollar.DoubleWrapper filterDouble(DoublePredicate predicate) {
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        double[] filtered = new double[array.length];
+        int n = 0;
+        for (double value : array) {
+            if (predicate.test(value)) {
+                filtered[n++] = value;
+            }
+        }
+        return new DoubleWrapper(Arrays.copyOf(filtered, n), false);
+    }
+
+    @Override
+    public double reduce(double identity, DoubleBinaryOperator operator) {
+        Preconditions.requireNotNull(operator, "operator must be non-null");
+        double value = identity;
+        for (double item : array) {
+            value = operator.apply(value, item);
+        }
+        return value;
+    }
+
+    @Override
+    public double sum() {
+        double sum = 0;
+        for (double value : array) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public Double max() {
+        if (array.length == 0) {
+            return null;
+        }
+        double max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (Double.compare(array[i], max) > 0) {
+                max = array[i];
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public Double min() {
+        if (array.length == 0) {
+            return null;
+        }
+        double min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (Double.compare(array[i], min) < 0) {
+                min = array[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public Double[] toArray() {
+        Double[] boxed = new Double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            boxed[i] = array[i];
+        }
+        return boxed;
+    }
+
+    /**
+     * Returns the wrapped array, not a copy: the next in-place operation
+     * copies it first, so later sorts or fills do not change it.
+     */
+    @Override
+    public double[] toDoubleArray() {
+        shared = true;
+        return array;
+    }
+
+    /** Appends the values without boxing them. */
+    @Override
+    public String join(String separator) {
+        Preconditions.requireNotNull(separator, "separator must be non-null");
+        Joiner joiner = new Joiner(separator, array.length);
+        for (double value : array) {
+            joiner.next().append(value);
+        }
+        return joiner.toString();
+    }
+
+    /** Also equal to an array wrapper of the same Double elements. */
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof DoubleWrapper) {
+            DoubleWrapper doubleWrapper = (DoubleWrapper) object;
+            return Arrays.equals(array, doubleWrapper.array);
+        } else if (object instanceof ArrayWrapper) {
+            return Arrays.equals(toArray(), ((ArrayWrapper<?>) object)
+                    .toArray());
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(array);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(array);
+    }
+}
@@ -0,0 +1,334 @@
+package org.bitbucket.dollar.primitives;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.bitbucket.dollar.AbstractWrapper;
+import org.bitbucket.dollar.ArrayWrapper;
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
+import org.bitbucket.dollar.functions.IntBinaryOperator;
+import org.bitbucket.dollar.functions.IntPredicate;
+import org.bitbucket.dollar.functions.IntUnaryOperator;
+
+/**
+ * Wraps an int[] directly, so that the primitive operations (mapInt,
+ * filterInt, reduce, sort, min, max, sum) never box. Only the generic
+ * Wrapper methods (iterator, map(Function), ...) box elements, one at a time.
+ */
+public class IntWrapper extends AbstractWrapper<Integer> implements
+        Dollar.IntWrapper {
+
+    protected int[] array;
+    // array is the caller's until an in-place operation copies it
+    private boolean shared;
+
+    public IntWrapper(int[] array) {
+        this(Preconditions.requireNotNull(array, "array must be non-null"),
+                true);
+    }
+
+    private IntWrapper(int[] array, boolean shared) {
+        this.array = array;
+        this.shared = shared;
+    }
+
+    /** The array to modify in place, copied first if it is the caller's. */
+    private int[] writable() {
+        if (shared) {
+            array = array.clone();
+            shared = false;
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new IntIterator(array);
+    }
+
+    private static class IntIterator implements Iterator<Integer> {
+
+        private int i = 0;
+        private final int[] array;
+
+        public IntIterator(int[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < array.length;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return array[i++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove() not supported for IntWrapper");
+        }
+    }
+
+    @Override
+    protected boolean push(Sink<Integer> sink) {
+        for (int value : array) {
+            if (!sink.accept(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Splitter<Integer> splitter() {
+        final int[] array = this.array;
+        return Splitters.indexed(new Splitters.Indexed<Integer>() {
+            @Override
+            public Integer get(int index) {
+                return array[index];
+            }
+        }, array.length, Splitter.ORDERED);
+    }
+
+    @Override
+    public Wrapper<Integer> copy() {
+        return new IntWrapper(Arrays.copyOf(array, array.length), false);
+    }
+
+    @Override
+    protected int knownSize() {
+        return array.length;
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /** A null object is stored as 0. */
+    @Override
+    public Wrapper<Integer> fill(Integer object) {
+        Arrays.fill(writable(), object == null ? 0 : object.intValue());
+        return this;
+    }
+
+    @Override
+    public Wrapper<Integer> shuffle(Random random) {
+        Preconditions.requireNotNull(random, "random must be non-null");
+        int[] array = writable();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int item = array[i];
+            array[i] = array[j];
+            array[j] = item;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Integer> slice(int i, int j) {
+        if (i >= 0 && i <= j && j <= array.length) {
+            array = Arrays.copyOfRange(array, i, j);
+            shared = false;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Integer> sort() {
+        Sorting.sort(writable());
+        return this;
+    }
+
+    @Override
+    protected Wrapper<Integer> parallelSort() {
+        Sorting.parallelSort(writable());
+        return this;
+    }
+
+    @Override
+    public Wrapper<Integer> reverse() {
+        int[] array = writable();
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            int temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Integer> repeat(int n) {
+        Preconditions.require(n > 0, "n must be positive");
+        int[] repeated = new int[n * array.length];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(array, 0, repeated, i * array.length,
+                    array.length);
+        }
+        return new IntWrapper(repeated, false);
+    }
+
+    @Override
+    public Dollar.IntWrapper mapInt(IntUnaryOperator operator) {
+        Preconditions.requireNotNull(operator, "operator must be non-null");
+        int[] mapped = new int[array.length];
+        for (int i = 0; i < array.length; i++) {
+            mapped[i] = operator.apply(array[i]);
+        }
+        return new IntWrapper(mapped, false);
+    }
+
+    @Override
+    public Dollar.IntWrapper filterInt(IntPredicate predicate) {
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        int[] filtered = new int[array.length];
+        int n = 0;
+        for (int value : array) {
+            if (predicate.test(value)) {
+                filtered[n++] = value;
+            }
+        }
+        return new IntWrapper(Arrays.copyOf(filtered, n), false);
+    }
+
+    @Override
+    public int reduce(int identity, IntBinaryOperator operator) {
+        Preconditions.requireNotNull(operator, "operator must be non-null");
+        int value = identity;
+        for (int item : array) {
+            value = operator.apply(value, item);
+        }
+        return value;
+    }
+
+    @Override
+    public long sum() {
+        long sum = 0;
+        for (int value : array) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public Integer max() {
+        if (array.length == 0) {
+            return null;
+        }
+        int max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] > max) {
+                max = array[i];
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public Integer min() {
+        if (array.length == 0) {
+            return null;
+        }
+        int min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < min) {
+                min = array[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public Integer[] toArray() {
+        Integer[] boxed = new Integer[array.length];
+        for (int i = 0; i < array.length; i++) {
+            boxed[i] = array[i];
+        }
+        return boxed;
+    }
+
+    /**
+     * Returns the wrapped array, not a copy: the next in-place operation
+     * copies it first, so later sorts or fills do not change it.
+     */
+    @Override
+    public int[] toIntArray() {
+        shared = true;
+        return array;
+    }
+
+    @Override
+    public long[] toLongArray() {
+        long[] longs = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            longs[i] = array[i];
+        }
+        return longs;
+    }
+
+    @Override
+    public float[] toFloatArray() {
+        float[] floats = new float[array.length];
+        for (int i = 0; i < array.length; i++) {
+            floats[i] = array[i];
+        }
+        return floats;
+    }
+
+    @Override
+    public double[] toDoubleArray() {
+        double[] doubles = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            doubles[i] = array[i];
+        }
+        return doubles;
+    }
+
+    /** Appends the values without boxing them. */
+    @Override
+    public String join(String separator) {
+        Preconditions.requireNotNull(separator, "separator must be non-null");
+        Joiner joiner = new Joiner(separator, array.length);
+        for (int value : array) {
+            joiner.next().append(value);
+        }
+        return joiner.toString();
+    }
+
+    /** Also equal to an array wrapper of the same Integer elements. */
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof IntWrapper) {
+            IntWrapper intWrapper = (IntWrapper) object;
+            return Arrays.equals(array, intWrapper.array);
+        } else if (object instanceof ArrayWrapper) {
+            return Arrays.equals(toArray(), ((ArrayWrapper<?>) object)
+                    .toArray());
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(array);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(array);
+    }
+}
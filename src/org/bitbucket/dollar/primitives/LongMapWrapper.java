@@ -0,0 +1,563 @@
+package org.bitbucket.dollar.primitives;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.bitbucket.dollar.AbstractWrapper;
+import org.bitbucket.dollar.CollectionWrapper;
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.SortedArrayWrapper;
+import org.bitbucket.dollar.functions.Function;
+import org.bitbucket.dollar.functions.IntBinaryOperator;
+import org.bitbucket.dollar.functions.Predicate;
+import org.bitbucket.dollar.functions.TriFunction;
+
+/**
+ * Hash map from long keys to int values, stored in a long[] and an int[]
+ * with open addressing and linear probing: no boxing and no node per entry,
+ * so an entry takes 12 bytes per slot (the table is kept between 3/8 and 3/4
+ * full). The key 0 marks the free slots, so its value is kept apart.
+ *
+ * As a Wrapper it iterates the keys, like MapWrapper; the generic methods
+ * (iterator, toMap, entries, ...) box the keys and values one at a time.
+ * threadSafe() makes every operation lock the map (traversals hold the lock
+ * while they run), immutable() makes the writes throw
+ * UnsupportedOperationException.
+ */
+public class LongMapWrapper extends AbstractWrapper<Long> implements
+        Dollar.LongMapWrapper {
+
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private int[] values;
+    // number of keys in the table, without the key FREE
+    private int size = 0;
+    private boolean hasFree = false;
+    private int freeValue;
+    private int mask;
+    private int shift;
+
+    // not null after threadSafe()
+    private Object lock = null;
+    private boolean immutable = false;
+
+    public LongMapWrapper() {
+        this(0);
+    }
+
+    public LongMapWrapper(int expectedSize) {
+        Preconditions.require(expectedSize >= 0,
+                "expectedSize must be non-negative");
+        allocate(capacity(expectedSize));
+    }
+
+    /** Smallest power of two holding expectedSize keys at most 3/4 full. */
+    private static int capacity(int expectedSize) {
+        int capacity = 8;
+        while (capacity < (1 << 30) && capacity * 3L / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing: the high bits of the product are well mixed
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /** Slot of key, or -1 - (the free slot where it would be inserted). */
+    private int find(long key) {
+        int i = slot(key);
+        while (true) {
+            long k = keys[i];
+            if (k == key) {
+                return i;
+            }
+            if (k == FREE) {
+                return -1 - i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void checkMutable() {
+        if (immutable) {
+            throw new UnsupportedOperationException("immutable map");
+        }
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+        for (int j = 0; j < oldKeys.length; j++) {
+            long key = oldKeys[j];
+            if (key != FREE) {
+                int i = slot(key);
+                while (keys[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /** Stores key in the free slot found for it; returns its new slot. */
+    private int insert(int freeSlot, long key, int value) {
+        if (size + 1 > (keys.length >> 2) * 3) {
+            rehash();
+            freeSlot = -1 - find(key);
+        }
+        keys[freeSlot] = key;
+        values[freeSlot] = value;
+        size++;
+        return freeSlot;
+    }
+
+    private void doPut(long key, int value) {
+        checkMutable();
+        if (key == FREE) {
+            hasFree = true;
+            freeValue = value;
+            return;
+        }
+        int i = find(key);
+        if (i >= 0) {
+            values[i] = value;
+        } else {
+            insert(-1 - i, key, value);
+        }
+    }
+
+    private int doGet(long key, int defaultValue) {
+        if (key == FREE) {
+            return hasFree ? freeValue : defaultValue;
+        }
+        int i = find(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    private boolean doContainsKey(long key) {
+        return key == FREE ? hasFree : find(key) >= 0;
+    }
+
+    private int doIncrement(long key, int delta) {
+        checkMutable();
+        if (key == FREE) {
+            freeValue = hasFree ? freeValue + delta : delta;
+            hasFree = true;
+            return freeValue;
+        }
+        int i = find(key);
+        if (i >= 0) {
+            return values[i] += delta;
+        }
+        insert(-1 - i, key, delta);
+        return delta;
+    }
+
+    private int doMerge(long key, int value, IntBinaryOperator operator) {
+        checkMutable();
+        if (key == FREE) {
+            freeValue = hasFree ? operator.apply(freeValue, value) : value;
+            hasFree = true;
+            return freeValue;
+        }
+        int i = find(key);
+        if (i >= 0) {
+            return values[i] = operator.apply(values[i], value);
+        }
+        insert(-1 - i, key, value);
+        return value;
+    }
+
+    private boolean doPush(Sink<Long> sink) {
+        if (hasFree && !sink.accept(FREE)) {
+            return false;
+        }
+        long[] keys = this.keys;
+        for (long key : keys) {
+            if (key != FREE && !sink.accept(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public LongMapWrapper add(long key, int value) {
+        Object lock = this.lock;
+        if (lock == null) {
+            doPut(key, value);
+        } else {
+            synchronized (lock) {
+                doPut(key, value);
+            }
+        }
+        return this;
+    }
+
+    /** Unboxes the key and value, which must be non-null. */
+    @Override
+    public LongMapWrapper add(Long key, Integer value) {
+        Preconditions.requireNotNull(key, "key must be non-null");
+        Preconditions.requireNotNull(value, "value must be non-null");
+        return add(key.longValue(), value.intValue());
+    }
+
+    @Override
+    public int get(long key, int defaultValue) {
+        Object lock = this.lock;
+        if (lock == null) {
+            return doGet(key, defaultValue);
+        }
+        synchronized (lock) {
+            return doGet(key, defaultValue);
+        }
+    }
+
+    @Override
+    public boolean containsKey(long key) {
+        Object lock = this.lock;
+        if (lock == null) {
+            return doContainsKey(key);
+        }
+        synchronized (lock) {
+            return doContainsKey(key);
+        }
+    }
+
+    @Override
+    public int increment(long key) {
+        return increment(key, 1);
+    }
+
+    @Override
+    public int increment(long key, int delta) {
+        Object lock = this.lock;
+        if (lock == null) {
+            return doIncrement(key, delta);
+        }
+        synchronized (lock) {
+            return doIncrement(key, delta);
+        }
+    }
+
+    @Override
+    public int merge(long key, int value, IntBinaryOperator operator) {
+        Preconditions.requireNotNull(operator, "operator must be non-null");
+        Object lock = this.lock;
+        if (lock == null) {
+            return doMerge(key, value, operator);
+        }
+        synchronized (lock) {
+            return doMerge(key, value, operator);
+        }
+    }
+
+    @Override
+    public int size() {
+        Object lock = this.lock;
+        if (lock == null) {
+            return size + (hasFree ? 1 : 0);
+        }
+        synchronized (lock) {
+            return size + (hasFree ? 1 : 0);
+        }
+    }
+
+    @Override
+    protected int knownSize() {
+        return size();
+    }
+
+    @Override
+    protected boolean push(Sink<Long> sink) {
+        Object lock = this.lock;
+        if (lock == null) {
+            return doPush(sink);
+        }
+        synchronized (lock) {
+            return doPush(sink);
+        }
+    }
+
+    @Override
+    public LongMapWrapper copy() {
+        Object lock = this.lock;
+        if (lock == null) {
+            return doCopy();
+        }
+        synchronized (lock) {
+            return doCopy();
+        }
+    }
+
+    private LongMapWrapper doCopy() {
+        LongMapWrapper copy = new LongMapWrapper(0);
+        copy.keys = keys.clone();
+        copy.values = values.clone();
+        copy.size = size;
+        copy.hasFree = hasFree;
+        copy.freeValue = freeValue;
+        copy.mask = mask;
+        copy.shift = shift;
+        return copy;
+    }
+
+    @Override
+    public LongMapWrapper threadSafe() {
+        if (lock == null) {
+            lock = this;
+        }
+        return this;
+    }
+
+    /**
+     * Same as {@link #threadSafe()}: there is no lock-free primitive map.
+     */
+    @Override
+    public LongMapWrapper concurrent() {
+        return threadSafe();
+    }
+
+    @Override
+    public LongMapWrapper immutable() {
+        immutable = true;
+        return this;
+    }
+
+    /** The keys and values are always ints. */
+    @Override
+    public LongMapWrapper checked(Class<Long> requiredKeyClass,
+            Class<Integer> requiredValueClass) {
+        return this;
+    }
+
+    /** A view of this map, boxing the keys and values on access. */
+    @Override
+    public Map<Long, Integer> toMap() {
+        return new MapView();
+    }
+
+    @Override
+    public Wrapper<Map.Entry<Long, Integer>> entries() {
+        return new CollectionWrapper<Map.Entry<Long, Integer>>(toMap()
+                .entrySet());
+    }
+
+    @Override
+    public Wrapper<Integer> values() {
+        return new CollectionWrapper<Integer>(toMap().values());
+    }
+
+    @Override
+    public <R> Dollar.MapWrapper<Long, R> mapValues(
+            Function<Integer, R> function) {
+        Preconditions.requireNotNull(function, "function must be non-null");
+        Map<Long, R> result = new HashMap<Long, R>(
+                size() * 4 / 3 + 1);
+        for (Map.Entry<Long, Integer> entry : toMap().entrySet()) {
+            result.put(entry.getKey(), function.apply(entry.getValue()));
+        }
+        return Dollar.$(result);
+    }
+
+    @Override
+    public LongMapWrapper filterEntries(
+            Predicate<Map.Entry<Long, Integer>> predicate) {
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        LongMapWrapper result = new LongMapWrapper();
+        for (Map.Entry<Long, Integer> entry : toMap().entrySet()) {
+            if (predicate.test(entry)) {
+                result.doPut(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <R> R reduceEntries(R initial,
+            TriFunction<Long, Integer, R, R> function) {
+        Preconditions.requireNotNull(function, "function must be non-null");
+        R result = initial;
+        for (Map.Entry<Long, Integer> entry : toMap().entrySet()) {
+            result = function.apply(entry.getKey(), entry.getValue(), result);
+        }
+        return result;
+    }
+
+    @Override
+    public Dollar.SortedWrapper<Long> sort() {
+        return new SortedArrayWrapper<Long>(toMap().keySet());
+    }
+
+    // reverse() doesn't make sense for a Map
+    @Override
+    public Wrapper<Long> reverse() {
+        return this;
+    }
+
+    // as well as shuffle()
+    @Override
+    public Wrapper<Long> shuffle(Random random) {
+        return this;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new KeyIterator();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof LongMapWrapper) {
+            return toMap().equals(((LongMapWrapper) object).toMap());
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return toMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+
+    /**
+     * Walks the slots of the table; the key FREE, if present, comes first.
+     * Not locked, like the iterators of a synchronized Map.
+     */
+    private class SlotIterator {
+
+        private final long[] keys = LongMapWrapper.this.keys;
+        private final int[] values = LongMapWrapper.this.values;
+        private boolean free = hasFree;
+        private int next = -1;
+
+        SlotIterator() {
+            advance();
+        }
+
+        private void advance() {
+            do {
+                next++;
+            } while (next < keys.length && keys[next] == FREE);
+        }
+
+        public boolean hasNext() {
+            return free || next < keys.length;
+        }
+
+        /** The slot of the next key, -1 for the key FREE. */
+        int nextSlot() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (free) {
+                free = false;
+                return -1;
+            }
+            int slot = next;
+            advance();
+            return slot;
+        }
+
+        long key(int slot) {
+            return slot < 0 ? FREE : keys[slot];
+        }
+
+        int value(int slot) {
+            return slot < 0 ? freeValue : values[slot];
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove() not supported for LongMapWrapper");
+        }
+    }
+
+    private class KeyIterator extends SlotIterator implements
+            Iterator<Long> {
+
+        @Override
+        public Long next() {
+            return key(nextSlot());
+        }
+    }
+
+    private class EntryIterator extends SlotIterator implements
+            Iterator<Map.Entry<Long, Integer>> {
+
+        @Override
+        public Map.Entry<Long, Integer> next() {
+            int slot = nextSlot();
+            return new AbstractMap.SimpleImmutableEntry<Long, Integer>(
+                    key(slot), value(slot));
+        }
+    }
+
+    private class MapView extends AbstractMap<Long, Integer> {
+
+        @Override
+        public int size() {
+            return LongMapWrapper.this.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Long
+                    && LongMapWrapper.this.containsKey((Long) key);
+        }
+
+        @Override
+        public Integer get(Object key) {
+            if (!containsKey(key)) {
+                return null;
+            }
+            return LongMapWrapper.this.get((Long) key, 0);
+        }
+
+        @Override
+        public Integer put(Long key, Integer value) {
+            Integer previous = get(key);
+            add(key, value);
+            return previous;
+        }
+
+        @Override
+        public Set<Map.Entry<Long, Integer>> entrySet() {
+            return new AbstractSet<Map.Entry<Long, Integer>>() {
+                @Override
+                public Iterator<Map.Entry<Long, Integer>> iterator() {
+                    return new EntryIterator();
+                }
+
+                @Override
+                public int size() {
+                    return LongMapWrapper.this.size();
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package org.bitbucket.dollar.primitives;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.bitbucket.dollar.AbstractWrapper;
+import org.bitbucket.dollar.ArrayWrapper;
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
+import org.bitbucket.dollar.functions.LongBinaryOperator;
+import org.bitbucket.dollar.functions.LongPredicate;
+import org.bitbucket.dollar.functions.LongUnaryOperator;
+
+/**
+ * Wraps a long[] directly, so that the primitive operations (mapLong,
+ * filterLong, reduce, sort, min, max, sum) never box. Only the generic
+ * Wrapper methods (iterator, map(Function), ...) box elements, one at a time.
+ */
+public class LongWrapper extends AbstractWrapper<Long> implements
+        Dollar.LongWrapper {
+
+    protected long[] array;
+    // array is the caller's until an in-place operation copies it
+    private boolean shared;
+
+    public LongWrapper(long[] array) {
+        this(Preconditions.requireNotNull(array, "array must be non-null"),
+                true);
+    }
+
+    private LongWrapper(long[] array, boolean shared) {
+        this.array = array;
+        this.shared = shared;
+    }
+
+    /** The array to modify in place, copied first if it is the caller's. */
+    private long[] writable() {
+        if (shared) {
+            array = array.clone();
+            shared = false;
+        }
+        return array;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return new LongIterator(array);
+    }
+
+    private static class LongIterator implements Iterator<Long> {
+
+        private int i = 0;
+        private final long[] array;
+
+        public LongIterator(long[] array) {
+            this.array = array;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < array.length;
+        }
+
+        @Override
+        public Long next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return array[i++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove() not supported for LongWrapper");
+        }
+    }
+
+    @Override
+    protected boolean push(Sink<Long> sink) {
+        for (long value : array) {
+            if (!sink.accept(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Splitter<Long> splitter() {
+        final long[] array = this.array;
+        return Splitters.indexed(new Splitters.Indexed<Long>() {
+            @Override
+            public Long get(int index) {
+                return array[index];
+            }
+        }, array.length, Splitter.ORDERED);
+    }
+
+    @Override
+    public Wrapper<Long> copy() {
+        return new LongWrapper(Arrays.copyOf(array, array.length), false);
+    }
+
+    @Override
+    protected int knownSize() {
+        return array.length;
+    }
+
+    @Override
+    public int size() {
+        return array.length;
+    }
+
+    /** A null object is stored as 0. */
+    @Override
+    public Wrapper<Long> fill(Long object) {
+        Arrays.fill(writable(), object == null ? 0L : object.longValue());
+        return this;
+    }
+
+    @Override
+    public Wrapper<Long> shuffle(Random random) {
+        Preconditions.requireNotNull(random, "random must be non-null");
+        long[] array = writable();
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long item = array[i];
+            array[i] = array[j];
+            array[j] = item;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Long> slice(int i, int j) {
+        if (i >= 0 && i <= j && j <= array.length) {
+            array = Arrays.copyOfRange(array, i, j);
+            shared = false;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Long> sort() {
+        Sorting.sort(writable());
+        return this;
+    }
+
+    @Override
+    protected Wrapper<Long> parallelSort() {
+        Sorting.parallelSort(writable());
+        return this;
+    }
+
+    @Override
+    public Wrapper<Long> reverse() {
+        long[] array = writable();
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            long temp = array[i];
+            array[i] = array[j];
+            array[j] = temp;
+        }
+        return this;
+    }
+
+    @Override
+    public Wrapper<Long> repeat(int n) {
+        Preconditions.require(n > 0, "n must be positive");
+        long[] repeated = new long[n * array.length];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(array, 0, repeated, i * array.length,
+                    array.length);
+        }
+        return new LongWrapper(repeated, false);
+    }
+
+    @Override
+    public Dollar.LongWrapper mapLong(LongUnaryOperator operator) {
+        Preconditions.requireNotNull(operator, "operator must be non-null");
+        long[] mapped = new long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            mapped[i] = operator.apply(array[i]);
+        }
+        return new LongWrapper(mapped, false);
+    }
+
+    @Override
+    public Dollar.LongWrapper filterLong(LongPredicate predicate) {
+        Preconditions.requireNotNull(predicate, "predicate must be non-null");
+        long[] filtered = new long[array.length];
+        int n = 0;
+        for (long value : array) {
+            if (predicate.test(value)) {
+                filtered[n++] = value;
+            }
+        }
+        return new LongWrapper(Arrays.copyOf(filtered, n), false);
+    }
+
+    @Override
+    public long reduce(long identity, LongBinaryOperator operator) {
+        Preconditions.requireNotNull(operator, "operator must be non-null");
+        long value = identity;
+        for (long item : array) {
+            value = operator.apply(value, item);
+        }
+        return value;
+    }
+
+    @Override
+    public long sum() {
+        long sum = 0;
+        for (long value : array) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    @Override
+    public Long max() {
+        if (array.length == 0) {
+            return null;
+        }
+        long max = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] > max) {
+                max = array[i];
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public Long min() {
+        if (array.length == 0) {
+            return null;
+        }
+        long min = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] < min) {
+                min = array[i];
+            }
+        }
+        return min;
+    }
+
+    @Override
+    public Long[] toArray() {
+        Long[] boxed = new Long[array.length];
+        for (int i = 0; i < array.length; i++) {
+            boxed[i] = array[i];
+        }
+        return boxed;
+    }
+
+    /**
+     * Returns the wrapped array, not a copy: the next in-place operation
+     * copies it first, so later sorts or fills do not change it.
+     */
+    @Override
+    public long[] toLongArray() {
+        shared = true;
+        return array;
+    }
+
+    @Override
+    public float[] toFloatArray() {
+        float[] floats = new float[array.length];
+        for (int i = 0; i < array.length; i++) {
+            floats[i] = array[i];
+        }
+        return floats;
+    }
+
+    @Override
+    public double[] toDoubleArray() {
+        double[] doubles = new double[array.length];
+        for (int i = 0; i < array.length; i++) {
+            doubles[i] = array[i];
+        }
+        return doubles;
+    }
+
+    /** Appends the values without boxing them. */
+    @Override
+    public String join(String separator) {
+        Preconditions.requireNotNull(separator, "separator must be non-null");
+        Joiner joiner = new Joiner(separator, array.length);
+        for (long value : array) {
+            joiner.next().append(value);
+        }
+        return joiner.toString();
+    }
+
+    /** Also equal to an array wrapper of the same Long elements. */
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof LongWrapper) {
+            LongWrapper longWrapper = (LongWrapper) object;
+            return Arrays.equals(array, longWrapper.array);
+        } else if (object instanceof ArrayWrapper) {
+            return Arrays.equals(toArray(), ((ArrayWrapper<?>) object)
+                    .toArray());
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(array);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(array);
+    }
+}
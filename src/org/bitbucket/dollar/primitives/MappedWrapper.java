@@ -0,0 +1,576 @@
+package org.bitbucket.dollar.primitives;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.bitbucket.dollar.AbstractWrapper;
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
+
+/**
+ * Reads a file of little-endian ints, longs, floats or doubles through
+ * read-only memory mappings, so that the values stay off the Java heap. A
+ * mapping cannot exceed 2GB, so the file is mapped in chunks of 1GB.
+ *
+ * The generic operations (map, filter, reduce, ...) box one value at a time;
+ * min, max and sort read the primitive values. slice narrows the view
+ * without copying; sort radix-sorts the values between direct (off-heap)
+ * buffers and replaces the view with them, so that the values never go to the
+ * Java heap: the file is never modified. The other operations that change the order (reverse, shuffle,
+ * concat, fill) return a copy on the heap, like for any other wrapper.
+ *
+ * @param <T>
+ *            Integer, Long, Float or Double.
+ */
+public abstract class MappedWrapper<T extends Number & Comparable<T>> extends
+        AbstractWrapper<T> implements Dollar.ComparableWrapper<T> {
+
+    // 1GB: a multiple of the width of every element type
+    private static final int CHUNK_SHIFT = 30;
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final int widthShift;
+    private ByteBuffer[] chunks;
+    private int offset;
+    protected int length;
+
+    /**
+     * @param widthShift
+     *            log2 of the number of bytes per element.
+     */
+    protected MappedWrapper(int widthShift, ByteBuffer[] chunks, int offset,
+            int length) {
+        this.widthShift = widthShift;
+        this.chunks = chunks;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    protected MappedWrapper(int widthShift, File file) throws IOException {
+        this(widthShift, map(file, widthShift), 0, 0);
+        long bytes = 0;
+        for (ByteBuffer chunk : chunks) {
+            bytes += chunk.capacity();
+        }
+        this.length = (int) (bytes >> widthShift);
+    }
+
+    private static ByteBuffer[] map(File file, int widthShift)
+            throws IOException {
+        Preconditions.requireNotNull(file, "file must be non-null");
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            long size = channel.size();
+            Preconditions.require((size & ((1 << widthShift) - 1)) == 0,
+                    "file length must be a multiple of " + (1 << widthShift));
+            Preconditions.require(size >> widthShift <= Integer.MAX_VALUE,
+                    "file must have at most Integer.MAX_VALUE elements");
+            ByteBuffer[] chunks = new ByteBuffer[(int) ((size + CHUNK_MASK) >> CHUNK_SHIFT)];
+            for (int i = 0; i < chunks.length; i++) {
+                long position = (long) i << CHUNK_SHIFT;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        position, Math.min(CHUNK_MASK + 1, size - position))
+                        .order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return chunks;
+        } finally {
+            // the mappings stay valid after the file is closed
+            randomAccessFile.close();
+        }
+    }
+
+    /** Chunk holding the element at index (relative to this view). */
+    protected final ByteBuffer chunk(int index) {
+        return chunks[(int) (((long) offset + index << widthShift) >>> CHUNK_SHIFT)];
+    }
+
+    /** Position of the element at index in its chunk. */
+    protected final int position(int index) {
+        return (int) (((long) offset + index << widthShift) & CHUNK_MASK);
+    }
+
+    /** Direct buffers for the length elements of this view. */
+    private ByteBuffer[] allocate() {
+        long size = (long) length << widthShift;
+        ByteBuffer[] allocated = new ByteBuffer[(int) ((size + CHUNK_MASK) >> CHUNK_SHIFT)];
+        for (int i = 0; i < allocated.length; i++) {
+            long position = (long) i << CHUNK_SHIFT;
+            allocated[i] = ByteBuffer.allocateDirect(
+                    (int) Math.min(CHUNK_MASK + 1, size - position)).order(
+                    ByteOrder.LITTLE_ENDIAN);
+        }
+        return allocated;
+    }
+
+    /** Bits of the element at index of the given buffers. */
+    private long read(ByteBuffer[] chunks, int offset, int index) {
+        long position = (long) offset + index << widthShift;
+        ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+        int i = (int) (position & CHUNK_MASK);
+        return widthShift == 2 ? chunk.getInt(i) : chunk.getLong(i);
+    }
+
+    private void write(ByteBuffer[] chunks, int index, long bits) {
+        long position = (long) index << widthShift;
+        ByteBuffer chunk = chunks[(int) (position >>> CHUNK_SHIFT)];
+        int i = (int) (position & CHUNK_MASK);
+        if (widthShift == 2) {
+            chunk.putInt(i, (int) bits);
+        } else {
+            chunk.putLong(i, bits);
+        }
+    }
+
+    /**
+     * Maps the bits of an element to a key whose unsigned order is the order
+     * of the elements.
+     */
+    protected abstract long sortKey(long bits);
+
+    /**
+     * Least significant digit radix sort, one byte of the keys per pass: the
+     * elements move between two sets of direct buffers, so the heap only
+     * holds the counts of every byte value. The passes whose byte is the same
+     * for all the elements are skipped.
+     */
+    @Override
+    public Wrapper<T> sort() {
+        if (length < 2) {
+            return this;
+        }
+        int digits = 1 << widthShift;
+        int[][] counts = new int[digits][256];
+        for (int i = 0; i < length; i++) {
+            long key = sortKey(read(chunks, offset, i));
+            for (int d = 0; d < digits; d++) {
+                counts[d][(int) (key >>> (d << 3)) & 0xFF]++;
+            }
+        }
+        ByteBuffer[] source = chunks;
+        int sourceOffset = offset;
+        ByteBuffer[] target = null;
+        for (int d = 0; d < digits; d++) {
+            int[] count = counts[d];
+            int shift = d << 3;
+            long first = sortKey(read(source, sourceOffset, 0));
+            if (count[(int) (first >>> shift) & 0xFF] == length) {
+                continue;
+            }
+            // count becomes the next position of each byte value
+            for (int v = 0, position = 0; v < 256; v++) {
+                int n = count[v];
+                count[v] = position;
+                position += n;
+            }
+            if (target == null) {
+                target = allocate();
+            }
+            for (int i = 0; i < length; i++) {
+                long bits = read(source, sourceOffset, i);
+                int v = (int) (sortKey(bits) >>> shift) & 0xFF;
+                write(target, count[v]++, bits);
+            }
+            ByteBuffer[] previous = source;
+            source = target;
+            sourceOffset = 0;
+            // the file mapping is read-only
+            target = previous == chunks ? null : previous;
+        }
+        chunks = source;
+        offset = sourceOffset;
+        return this;
+    }
+
+    /** Element at index, boxed. */
+    protected abstract T get(int index);
+
+    /** A view of the elements offset until offset + length. */
+    protected abstract MappedWrapper<T> view(ByteBuffer[] chunks, int offset,
+            int length);
+
+    @Override
+    public int size() {
+        return length;
+    }
+
+    @Override
+    protected int knownSize() {
+        return length;
+    }
+
+    /** Shares the (read-only) buffers. */
+    @Override
+    public Wrapper<T> copy() {
+        return view(chunks, offset, length);
+    }
+
+    /** Narrows this view, without copying. */
+    @Override
+    public Wrapper<T> slice(int i, int j) {
+        if (i >= 0 && i <= j && j <= length) {
+            offset += i;
+            length = j - i;
+        }
+        return this;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < length;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(i++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException(
+                        "remove() not supported for MappedWrapper");
+            }
+        };
+    }
+
+    @Override
+    protected boolean push(Sink<T> sink) {
+        for (int i = 0; i < length; i++) {
+            if (!sink.accept(get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Splitter<T> splitter() {
+        final MappedWrapper<T> view = view(chunks, offset, length);
+        return Splitters.indexed(new Splitters.Indexed<T>() {
+            @Override
+            public T get(int index) {
+                return view.get(index);
+            }
+        }, length, Splitter.ORDERED | Splitter.IMMUTABLE);
+    }
+
+    @Override
+    protected List<Wrapper<T>> split(int parts) {
+        parts = Math.min(parts, length);
+        List<Wrapper<T>> split = new ArrayList<Wrapper<T>>(parts);
+        for (int i = 0; i < parts; i++) {
+            int from = partStart(length, parts, i);
+            int to = partStart(length, parts, i + 1);
+            split.add(view(chunks, offset + from, to - from));
+        }
+        return split;
+    }
+
+    /** Wraps a file of little-endian ints. */
+    public static class Ints extends MappedWrapper<Integer> {
+
+        public Ints(File file) throws IOException {
+            super(2, file);
+        }
+
+        protected Ints(ByteBuffer[] chunks, int offset, int length) {
+            super(2, chunks, offset, length);
+        }
+
+        public int getInt(int index) {
+            return chunk(index).getInt(position(index));
+        }
+
+        @Override
+        public String join(String separator) {
+            Preconditions.requireNotNull(separator,
+                    "separator must be non-null");
+            Joiner joiner = new Joiner(separator, length);
+            for (int i = 0; i < length; i++) {
+                joiner.next().append(getInt(i));
+            }
+            return joiner.toString();
+        }
+
+        @Override
+        protected Integer get(int index) {
+            return getInt(index);
+        }
+
+        @Override
+        protected MappedWrapper<Integer> view(ByteBuffer[] chunks,
+                int offset, int length) {
+            return new Ints(chunks, offset, length);
+        }
+
+        @Override
+        public Integer max() {
+            if (length == 0) {
+                return null;
+            }
+            int max = getInt(0);
+            for (int i = 1; i < length; i++) {
+                max = Math.max(max, getInt(i));
+            }
+            return max;
+        }
+
+        @Override
+        public Integer min() {
+            if (length == 0) {
+                return null;
+            }
+            int min = getInt(0);
+            for (int i = 1; i < length; i++) {
+                min = Math.min(min, getInt(i));
+            }
+            return min;
+        }
+
+        @Override
+        protected long sortKey(long bits) {
+            return (int) bits ^ Integer.MIN_VALUE;
+        }
+    }
+
+    /** Wraps a file of little-endian longs. */
+    public static class Longs extends MappedWrapper<Long> {
+
+        public Longs(File file) throws IOException {
+            super(3, file);
+        }
+
+        protected Longs(ByteBuffer[] chunks, int offset, int length) {
+            super(3, chunks, offset, length);
+        }
+
+        public long getLong(int index) {
+            return chunk(index).getLong(position(index));
+        }
+
+        @Override
+        public String join(String separator) {
+            Preconditions.requireNotNull(separator,
+                    "separator must be non-null");
+            Joiner joiner = new Joiner(separator, length);
+            for (int i = 0; i < length; i++) {
+                joiner.next().append(getLong(i));
+            }
+            return joiner.toString();
+        }
+
+        @Override
+        protected Long get(int index) {
+            return getLong(index);
+        }
+
+        @Override
+        protected MappedWrapper<Long> view(ByteBuffer[] chunks, int offset,
+                int length) {
+            return new Longs(chunks, offset, length);
+        }
+
+        @Override
+        public Long max() {
+            if (length == 0) {
+                return null;
+            }
+            long max = getLong(0);
+            for (int i = 1; i < length; i++) {
+                max = Math.max(max, getLong(i));
+            }
+            return max;
+        }
+
+        @Override
+        public Long min() {
+            if (length == 0) {
+                return null;
+            }
+            long min = getLong(0);
+            for (int i = 1; i < length; i++) {
+                min = Math.min(min, getLong(i));
+            }
+            return min;
+        }
+
+        @Override
+        protected long sortKey(long bits) {
+            return bits ^ Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * Wraps a file of little-endian floats; ordered like Float.compareTo.
+     */
+    public static class Floats extends MappedWrapper<Float> {
+
+        public Floats(File file) throws IOException {
+            super(2, file);
+        }
+
+        protected Floats(ByteBuffer[] chunks, int offset, int length) {
+            super(2, chunks, offset, length);
+        }
+
+        public float getFloat(int index) {
+            return chunk(index).getFloat(position(index));
+        }
+
+        @Override
+        public String join(String separator) {
+            Preconditions.requireNotNull(separator,
+                    "separator must be non-null");
+            Joiner joiner = new Joiner(separator, length);
+            for (int i = 0; i < length; i++) {
+                joiner.next().append(getFloat(i));
+            }
+            return joiner.toString();
+        }
+
+        @Override
+        protected Float get(int index) {
+            return getFloat(index);
+        }
+
+        @Override
+        protected MappedWrapper<Float> view(ByteBuffer[] chunks, int offset,
+                int length) {
+            return new Floats(chunks, offset, length);
+        }
+
+        @Override
+        public Float max() {
+            if (length == 0) {
+                return null;
+            }
+            float max = getFloat(0);
+            for (int i = 1; i < length; i++) {
+                float value = getFloat(i);
+                if (Float.compare(value, max) > 0) {
+                    max = value;
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public Float min() {
+            if (length == 0) {
+                return null;
+            }
+            float min = getFloat(0);
+            for (int i = 1; i < length; i++) {
+                float value = getFloat(i);
+                if (Float.compare(value, min) < 0) {
+                    min = value;
+                }
+            }
+            return min;
+        }
+
+        // ordered as Float.compare: all the NaNs last, -0.0 before 0.0
+        @Override
+        protected long sortKey(long bits) {
+            int b = Float.floatToIntBits(Float.intBitsToFloat((int) bits));
+            return b ^ (b >> 31 | Integer.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Wraps a file of little-endian doubles; ordered like Double.compareTo.
+     */
+    public static class Doubles extends MappedWrapper<Double> {
+
+        public Doubles(File file) throws IOException {
+            super(3, file);
+        }
+
+        protected Doubles(ByteBuffer[] chunks, int offset, int length) {
+            super(3, chunks, offset, length);
+        }
+
+        public double getDouble(int index) {
+            return chunk(index).getDouble(position(index));
+        }
+
+        @Override
+        public String join(String separator) {
+            Preconditions.requireNotNull(separator,
+                    "separator must be non-null");
+            Joiner joiner = new Joiner(separator, length);
+            for (int i = 0; i < length; i++) {
+                joiner.next().append(getDouble(i));
+            }
+            return joiner.toString();
+        }
+
+        @Override
+        protected Double get(int index) {
+            return getDouble(index);
+        }
+
+        @Override
+        protected MappedWrapper<Double> view(ByteBuffer[] chunks, int offset,
+                int length) {
+            return new Doubles(chunks, offset, length);
+        }
+
+        @Override
+        public Double max() {
+            if (length == 0) {
+                return null;
+            }
+            double max = getDouble(0);
+            for (int i = 1; i < length; i++) {
+                double value = getDouble(i);
+                if (Double.compare(value, max) > 0) {
+                    max = value;
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public Double min() {
+            if (length == 0) {
+                return null;
+            }
+            double min = getDouble(0);
+            for (int i = 1; i < length; i++) {
+                double value = getDouble(i);
+                if (Double.compare(value, min) < 0) {
+                    min = value;
+                }
+            }
+            return min;
+        }
+
+        // ordered as Double.compare: all the NaNs last, -0.0 before 0.0
+        @Override
+        protected long sortKey(long bits) {
+            long b = Double.doubleToLongBits(Double.longBitsToDouble(bits));
+            return b ^ (b >> 63 | Long.MIN_VALUE);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.bitbucket.dollar.primitives;
+
+import java.util.Iterator;
+
+/**
+ * Iterators over primitive values, like Java 8 PrimitiveIterator: next()
+ * boxes, while nextInt() and nextLong() do not.
+ *
+ * @param <T>
+ *            Boxed type of the values.
+ */
+public interface PrimitiveIterator<T> extends Iterator<T> {
+
+    public static interface OfInt extends PrimitiveIterator<Integer> {
+
+        int nextInt();
+    }
+
+    public static interface OfLong extends PrimitiveIterator<Long> {
+
+        long nextLong();
+    }
+}
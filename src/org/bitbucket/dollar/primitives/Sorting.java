@@ -0,0 +1,405 @@
+package org.bitbucket.dollar.primitives;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bitbucket.dollar.Parallel;
+import org.bitbucket.dollar.Preconditions;
+
+/**
+ * Sorts primitive arrays in ascending order. ints, longs, shorts and chars
+ * use an LSD radix sort (one pass per byte, skipping the bytes that are the
+ * same in all the values) with a buffer as large as the array; bytes use a
+ * counting sort; floats and doubles use Arrays.sort. Small arrays always use
+ * Arrays.sort.
+ *
+ * The parallelSort methods sort runs of the array on {@link Parallel}
+ * threads, then merge them in rounds of parallel pairwise merges.
+ */
+public final class Sorting {
+
+    private Sorting() {
+    }
+
+    private static final int RADIX = 256;
+
+    // below this length Arrays.sort is faster than a radix sort
+    private static final int RADIX_THRESHOLD = 1 << 10;
+
+    // shortest run sorted by a single thread in parallelSort
+    private static final int MIN_PARALLEL_RUN = 1 << 16;
+
+    public static void sort(int[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        sort(array, 0, array.length, null);
+    }
+
+    public static void sort(long[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        sort(array, 0, array.length, null);
+    }
+
+    public static void sort(short[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        if (array.length < RADIX_THRESHOLD) {
+            Arrays.sort(array);
+            return;
+        }
+        short[] buffer = new short[array.length];
+        short[] src = array;
+        short[] dst = buffer;
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < 16; shift += 8) {
+            // flipping the sign bit puts the negative values first
+            int flip = shift == 8 ? 0x80 : 0;
+            Arrays.fill(count, 0);
+            for (short v : src) {
+                count[((v >>> shift) & 0xFF) ^ flip]++;
+            }
+            if (!offsets(count, 0, array.length)) {
+                continue;
+            }
+            for (short v : src) {
+                dst[count[((v >>> shift) & 0xFF) ^ flip]++] = v;
+            }
+            short[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, array.length);
+        }
+    }
+
+    public static void sort(char[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        if (array.length < RADIX_THRESHOLD) {
+            Arrays.sort(array);
+            return;
+        }
+        char[] buffer = new char[array.length];
+        char[] src = array;
+        char[] dst = buffer;
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < 16; shift += 8) {
+            Arrays.fill(count, 0);
+            for (char v : src) {
+                count[(v >>> shift) & 0xFF]++;
+            }
+            if (!offsets(count, 0, array.length)) {
+                continue;
+            }
+            for (char v : src) {
+                dst[count[(v >>> shift) & 0xFF]++] = v;
+            }
+            char[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, 0, array, 0, array.length);
+        }
+    }
+
+    public static void sort(byte[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        int[] count = new int[RADIX];
+        for (byte v : array) {
+            count[v + 128]++;
+        }
+        int i = 0;
+        for (int v = 0; v < RADIX; v++) {
+            for (int n = count[v]; n > 0; n--) {
+                array[i++] = (byte) (v - 128);
+            }
+        }
+    }
+
+    /** Same order as Float.compareTo: -0.0f before 0.0f, NaN last. */
+    public static void sort(float[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        Arrays.sort(array);
+    }
+
+    /** Same order as Double.compareTo: -0.0d before 0.0d, NaN last. */
+    public static void sort(double[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        Arrays.sort(array);
+    }
+
+    public static void parallelSort(final int[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        if (!parallel(array.length)) {
+            sort(array);
+            return;
+        }
+        final int[] buffer = new int[array.length];
+        new MergeSort(array.length) {
+            @Override
+            void sortRun(int from, int to) {
+                sort(array, from, to, buffer);
+            }
+
+            @Override
+            void merge(boolean toBuffer, int lo, int mid, int hi) {
+                Sorting.merge(toBuffer ? array : buffer, toBuffer ? buffer
+                        : array, lo, mid, hi);
+            }
+
+            @Override
+            void copyFromBuffer(int from, int to) {
+                System.arraycopy(buffer, from, array, from, to - from);
+            }
+        }.run();
+    }
+
+    public static void parallelSort(final long[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        if (!parallel(array.length)) {
+            sort(array);
+            return;
+        }
+        final long[] buffer = new long[array.length];
+        new MergeSort(array.length) {
+            @Override
+            void sortRun(int from, int to) {
+                sort(array, from, to, buffer);
+            }
+
+            @Override
+            void merge(boolean toBuffer, int lo, int mid, int hi) {
+                Sorting.merge(toBuffer ? array : buffer, toBuffer ? buffer
+                        : array, lo, mid, hi);
+            }
+
+            @Override
+            void copyFromBuffer(int from, int to) {
+                System.arraycopy(buffer, from, array, from, to - from);
+            }
+        }.run();
+    }
+
+    public static void parallelSort(final double[] array) {
+        Preconditions.requireNotNull(array, "array must be non-null");
+        if (!parallel(array.length)) {
+            sort(array);
+            return;
+        }
+        final double[] buffer = new double[array.length];
+        new MergeSort(array.length) {
+            @Override
+            void sortRun(int from, int to) {
+                Arrays.sort(array, from, to);
+            }
+
+            @Override
+            void merge(boolean toBuffer, int lo, int mid, int hi) {
+                Sorting.merge(toBuffer ? array : buffer, toBuffer ? buffer
+                        : array, lo, mid, hi);
+            }
+
+            @Override
+            void copyFromBuffer(int from, int to) {
+                System.arraycopy(buffer, from, array, from, to - from);
+            }
+        }.run();
+    }
+
+    private static boolean parallel(int length) {
+        return Parallel.parallelism() > 1 && length >= 2 * MIN_PARALLEL_RUN;
+    }
+
+    // radix sort of array[from, to), using buffer[from, to) (or a new one)
+    private static void sort(int[] array, int from, int to, int[] buffer) {
+        int length = to - from;
+        if (length < RADIX_THRESHOLD) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+        int[] src = array;
+        int[] dst = buffer == null ? new int[array.length] : buffer;
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < 32; shift += 8) {
+            // flipping the sign bit puts the negative values first
+            int flip = shift == 24 ? 0x80 : 0;
+            Arrays.fill(count, 0);
+            for (int i = from; i < to; i++) {
+                count[((src[i] >>> shift) & 0xFF) ^ flip]++;
+            }
+            if (!offsets(count, from, length)) {
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                int v = src[i];
+                dst[count[((v >>> shift) & 0xFF) ^ flip]++] = v;
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, from, array, from, length);
+        }
+    }
+
+    private static void sort(long[] array, int from, int to, long[] buffer) {
+        int length = to - from;
+        if (length < RADIX_THRESHOLD) {
+            Arrays.sort(array, from, to);
+            return;
+        }
+        long[] src = array;
+        long[] dst = buffer == null ? new long[array.length] : buffer;
+        int[] count = new int[RADIX];
+        for (int shift = 0; shift < 64; shift += 8) {
+            int flip = shift == 56 ? 0x80 : 0;
+            Arrays.fill(count, 0);
+            for (int i = from; i < to; i++) {
+                count[((int) (src[i] >>> shift) & 0xFF) ^ flip]++;
+            }
+            if (!offsets(count, from, length)) {
+                continue;
+            }
+            for (int i = from; i < to; i++) {
+                long v = src[i];
+                dst[count[((int) (v >>> shift) & 0xFF) ^ flip]++] = v;
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+        }
+        if (src != array) {
+            System.arraycopy(src, from, array, from, length);
+        }
+    }
+
+    /**
+     * Turns the digit counts into the index of the first value with each
+     * digit.
+     *
+     * @return false if all the values have the same digit, so that the pass
+     *         can be skipped.
+     */
+    private static boolean offsets(int[] count, int from, int length) {
+        int position = from;
+        for (int d = 0; d < RADIX; d++) {
+            int c = count[d];
+            if (c == length) {
+                return false;
+            }
+            count[d] = position;
+            position += c;
+        }
+        return true;
+    }
+
+    private static void merge(int[] src, int[] dst, int lo, int mid, int hi) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void merge(long[] src, long[] dst, int lo, int mid, int hi) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    private static void merge(double[] src, double[] dst, int lo, int mid,
+            int hi) {
+        int i = lo;
+        int j = mid;
+        int k = lo;
+        while (i < mid && j < hi) {
+            // Double.compare, unlike <, orders -0.0d and NaN
+            dst[k++] = Double.compare(src[j], src[i]) < 0 ? src[j++]
+                    : src[i++];
+        }
+        System.arraycopy(src, i, dst, k, mid - i);
+        System.arraycopy(src, j, dst, k + mid - i, hi - j);
+    }
+
+    /**
+     * Sorts runs of the array in parallel, then merges adjacent runs two by
+     * two, alternating between the array and the buffer, until a single run
+     * is left.
+     */
+    private abstract static class MergeSort {
+
+        private final int length;
+
+        MergeSort(int length) {
+            this.length = length;
+        }
+
+        /** Sorts array[from, to); may use buffer[from, to). */
+        abstract void sortRun(int from, int to);
+
+        /** Merges two adjacent sorted runs to the buffer or to the array. */
+        abstract void merge(boolean toBuffer, int lo, int mid, int hi);
+
+        abstract void copyFromBuffer(int from, int to);
+
+        void run() {
+            int runs = Math.min(Parallel.parallelism() * 2, length
+                    / MIN_PARALLEL_RUN);
+            int[] bounds = new int[runs + 1];
+            for (int i = 0; i <= runs; i++) {
+                bounds[i] = (int) ((long) length * i / runs);
+            }
+
+            List<Runnable> tasks = new ArrayList<Runnable>(runs);
+            for (int i = 0; i < runs; i++) {
+                final int from = bounds[i];
+                final int to = bounds[i + 1];
+                tasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        sortRun(from, to);
+                    }
+                });
+            }
+            Parallel.invokeAll(tasks);
+
+            boolean inBuffer = false;
+            while (runs > 1) {
+                final boolean toBuffer = !inBuffer;
+                int merged = (runs + 1) / 2;
+                int[] next = new int[merged + 1];
+                tasks.clear();
+                for (int i = 0; i < merged; i++) {
+                    final int lo = bounds[2 * i];
+                    final int mid = bounds[Math.min(2 * i + 1, runs)];
+                    final int hi = bounds[Math.min(2 * i + 2, runs)];
+                    next[i] = lo;
+                    // a run without a pair is copied (merged with nothing)
+                    tasks.add(new Runnable() {
+                        @Override
+                        public void run() {
+                            merge(toBuffer, lo, mid, hi);
+                        }
+                    });
+                }
+                next[merged] = length;
+                Parallel.invokeAll(tasks);
+                bounds = next;
+                runs = merged;
+                inBuffer = toBuffer;
+            }
+            if (inBuffer) {
+                copyFromBuffer(0, length);
+            }
+        }
+    }
+}
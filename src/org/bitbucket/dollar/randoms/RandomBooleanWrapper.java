@@ -1,6 +1,5 @@
 package org.bitbucket.dollar.randoms;
 
-import java.util.Iterator;
 import java.util.Random;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
@@ -12,14 +11,8 @@ public class RandomBooleanWrapper extends RandomWrapper<Boolean> {
 	}
 
 	@Override
-	public Iterator<Boolean> iterator() {
-		return new RandomIterator<Boolean>(samples) {
-
-			@Override
-			public Boolean nextRandom() {
-				return random.nextBoolean();
-			}
-		};
+	protected Boolean nextRandom() {
+		return random.nextBoolean();
 	}
 
 	@Override
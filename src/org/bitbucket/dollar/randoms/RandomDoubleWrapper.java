@@ -1,6 +1,5 @@
 package org.bitbucket.dollar.randoms;
 
-import java.util.Iterator;
 import java.util.Random;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
@@ -15,14 +14,8 @@ public class RandomDoubleWrapper extends RandomWrapper<Double> {
 	}
 
 	@Override
-	public Iterator<Double> iterator() {
-		return new RandomIterator<Double>(samples) {
-
-			@Override
-			public Double nextRandom() {
-				return random.nextDouble() * upTo;
-			}
-		};
+	protected Double nextRandom() {
+		return random.nextDouble() * upTo;
 	}
 
 	@Override
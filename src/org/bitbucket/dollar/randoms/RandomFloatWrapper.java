@@ -1,6 +1,5 @@
 package org.bitbucket.dollar.randoms;
 
-import java.util.Iterator;
 import java.util.Random;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
@@ -15,14 +14,8 @@ public class RandomFloatWrapper extends RandomWrapper<Float> {
 	}
 
 	@Override
-	public Iterator<Float> iterator() {
-		return new RandomIterator<Float>(samples) {
-
-			@Override
-			public Float nextRandom() {
-				return random.nextFloat() * upTo;
-			}
-		};
+	protected Float nextRandom() {
+		return random.nextFloat() * upTo;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package org.bitbucket.dollar.randoms;
 
-import java.util.Iterator;
 import java.util.Random;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
@@ -15,14 +14,8 @@ public class RandomIntegerWrapper extends RandomWrapper<Integer> {
 	}
 
 	@Override
-	public Iterator<Integer> iterator() {
-		return new RandomIterator<Integer>(samples) {
-
-			@Override
-			public Integer nextRandom() {
-				return random.nextInt(upTo);
-			}
-		};
+	protected Integer nextRandom() {
+		return random.nextInt(upTo);
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package org.bitbucket.dollar.randoms;
 
-import java.util.Iterator;
 import java.util.Random;
 
 import org.bitbucket.dollar.Dollar.Wrapper;
@@ -15,14 +14,8 @@ public class RandomLongWrapper extends RandomWrapper<Long> {
 	}
 
 	@Override
-	public Iterator<Long> iterator() {
-		return new RandomIterator<Long>(samples) {
-
-			@Override
-			public Long nextRandom() {
-				return random.nextLong() % upTo;
-			}
-		};
+	protected Long nextRandom() {
+		return random.nextLong() % upTo;
 	}
 
 	@Override
@@ -17,12 +17,15 @@ package org.bitbucket.dollar.randoms;
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.util.Iterator;
 import java.util.Random;
 
 import org.bitbucket.dollar.AbstractWrapper;
 import org.bitbucket.dollar.Dollar;
 import org.bitbucket.dollar.Dollar.Wrapper;
 import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
 
 /**
  * Implements the most basic common functionality of Random wrappers.
@@ -55,6 +58,34 @@ public abstract class RandomWrapper<T> extends AbstractWrapper<T> implements
 		return this;
 	}
 
+	/** Draws the next sample from random. */
+	protected abstract T nextRandom();
+
+	@Override
+	public Iterator<T> iterator() {
+		return new RandomIterator<T>(samples) {
+
+			@Override
+			public T nextRandom() {
+				return RandomWrapper.this.nextRandom();
+			}
+		};
+	}
+
+	/**
+	 * The parts draw from the same generator, which is thread-safe, so the
+	 * samples are not ordered.
+	 */
+	@Override
+	public Splitter<T> splitter() {
+		return Splitters.indexed(new Splitters.Indexed<T>() {
+			@Override
+			public T get(int index) {
+				return nextRandom();
+			}
+		}, samples, 0);
+	}
+
 	@Override
 	public Wrapper<T> shuffle(Random random) {
 		return this;
@@ -74,6 +105,11 @@ public abstract class RandomWrapper<T> extends AbstractWrapper<T> implements
 		return this;
 	}
 
+	@Override
+	protected int knownSize() {
+		return samples;
+	}
+
 	@Override
 	public int size() {
 		return samples;
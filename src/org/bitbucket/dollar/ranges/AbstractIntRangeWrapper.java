@@ -0,0 +1,143 @@
+package org.bitbucket.dollar.ranges;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.functions.IntBlock;
+import org.bitbucket.dollar.primitives.PrimitiveIterator;
+
+/**
+ * Range of ints, shorts or bytes: iterates, counts and tests membership with
+ * int arithmetic instead of the boxed add and compareTo.
+ *
+ * @param <T>
+ *            Integer, Short or Byte.
+ */
+public abstract class AbstractIntRangeWrapper<T extends Number & Comparable<T>>
+		extends AbstractNumberRangeWrapper<T> implements
+		Dollar.IntRangeWrapper<T> {
+
+	private final int from;
+	private final int to;
+	private final int step;
+
+	public AbstractIntRangeWrapper(T startFrom, T stopAt, T stepBy) {
+		super(startFrom, stopAt, stepBy);
+		this.from = startFrom.intValue();
+		this.to = stopAt.intValue();
+		this.step = stepBy.intValue();
+	}
+
+	@Override
+	protected long count() {
+		return count(from, to, step);
+	}
+
+	@Override
+	protected T at(int index) {
+		return fromInt(from + index * step);
+	}
+
+	@Override
+	public PrimitiveIterator.OfInt intIterator() {
+		return new IntRangeIterator();
+	}
+
+	private class IntRangeIterator implements PrimitiveIterator.OfInt {
+
+		private int next = from;
+		private long remaining = count();
+
+		@Override
+		public boolean hasNext() {
+			return remaining > 0;
+		}
+
+		@Override
+		public int nextInt() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			int value = next;
+			next += step;
+			remaining--;
+			return value;
+		}
+
+		@Override
+		public Integer next() {
+			return nextInt();
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException(
+					"remove() not supported for RangeWrapper");
+		}
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		final PrimitiveIterator.OfInt ints = intIterator();
+		return new Iterator<T>() {
+
+			@Override
+			public boolean hasNext() {
+				return ints.hasNext();
+			}
+
+			@Override
+			public T next() {
+				return fromInt(ints.nextInt());
+			}
+
+			@Override
+			public void remove() {
+				ints.remove();
+			}
+		};
+	}
+
+	@Override
+	protected boolean push(Sink<T> sink) {
+		int value = from;
+		for (long n = count(); n > 0; n--, value += step) {
+			if (!sink.accept(fromInt(value))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void forEachInt(IntBlock block) {
+		Preconditions.requireNotNull(block, "block must be non-null");
+		int value = from;
+		for (long n = count(); n > 0; n--, value += step) {
+			block.accept(value);
+		}
+	}
+
+	@Override
+	public boolean contains(int value) {
+		if (step > 0 ? value < from || value >= to : value > from
+				|| value <= to) {
+			return false;
+		}
+		return ((long) value - from) % step == 0;
+	}
+
+	@Override
+	public boolean test(T t) {
+		return contains(t.intValue());
+	}
+
+	@Override
+	public int indexOf(T value) {
+		int v = value.intValue();
+		return contains(v) ? (int) (((long) v - from) / step) : -1;
+	}
+}
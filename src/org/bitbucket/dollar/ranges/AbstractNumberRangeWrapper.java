@@ -19,8 +19,10 @@ package org.bitbucket.dollar.ranges;
  */
 import static org.bitbucket.dollar.Preconditions.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 
@@ -28,6 +30,8 @@ import org.bitbucket.dollar.AbstractWrapper;
 import org.bitbucket.dollar.ArrayWrapper;
 import org.bitbucket.dollar.Dollar.RangeWrapper;
 import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
 
 public abstract class AbstractNumberRangeWrapper<T extends Number & Comparable<T>>
 		extends AbstractWrapper<T> implements RangeWrapper<T> {
@@ -121,8 +125,10 @@ public abstract class AbstractNumberRangeWrapper<T extends Number & Comparable<T
 
 	@Override
 	public Wrapper<T> reverse() {
-		return create(subtract(stopAt, stepBy), subtract(startFrom, stepBy),
-				negate(stepBy));
+		if (count() == 0) {
+			return copy();
+		}
+		return create(last(), subtract(startFrom, stepBy), negate(stepBy));
 	}
 
 	@Override
@@ -130,9 +136,136 @@ public abstract class AbstractNumberRangeWrapper<T extends Number & Comparable<T
 		return new ArrayWrapper<T>(copy().toArray()).shuffle(random);
 	}
 
+	@Override
+	protected int knownSize() {
+		return count() <= Integer.MAX_VALUE ? size() : -1;
+	}
+
+	/** Saturates at Integer.MAX_VALUE, see {@link #count()}. */
 	@Override
 	public int size() {
-		return floorDivide(abs(subtract(startFrom, stopAt)), abs(stepBy)).intValue();
+		return (int) Math.min(count(), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Exact number of elements: the distance between startFrom and stopAt
+	 * divided by stepBy, rounded up. Subclasses whose arithmetic may overflow
+	 * should override it with {@link #count(long, long, long)}.
+	 */
+	protected long count() {
+		T distance = abs(subtract(stopAt, startFrom));
+		T step = abs(stepBy);
+		T quotient = floorDivide(distance, step);
+		if (quotient.doubleValue() >= Long.MAX_VALUE) {
+			return Long.MAX_VALUE;
+		}
+		long count = quotient.longValue();
+		return isZero(mod(distance, step)) ? count : count + 1;
+	}
+
+	/**
+	 * Like {@link #count()}, saturated at Long.MAX_VALUE. The distance and
+	 * the step are unsigned, so that they do not overflow when startFrom and
+	 * stopAt (or the step) span more than Long.MAX_VALUE.
+	 */
+	protected static long count(long startFrom, long stopAt, long stepBy) {
+		long distance = stopAt >= startFrom ? stopAt - startFrom : startFrom
+				- stopAt;
+		long step = stepBy >= 0 ? stepBy : -stepBy;
+		long quotient;
+		if (step < 0) {
+			// 2^63: at most once
+			quotient = distance < 0 ? 1 : 0;
+		} else if (distance >= 0) {
+			quotient = distance / step;
+		} else {
+			// unsigned division: halve, divide, then correct by one
+			quotient = ((distance >>> 1) / step) << 1;
+			if (distance - quotient * step + Long.MIN_VALUE >= step
+					+ Long.MIN_VALUE) {
+				quotient++;
+			}
+		}
+		boolean exact = distance - quotient * step == 0;
+		if (quotient < 0 || (quotient == Long.MAX_VALUE && !exact)) {
+			return Long.MAX_VALUE;
+		}
+		return exact ? quotient : quotient + 1;
+	}
+
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= count()) {
+			throw new IndexOutOfBoundsException("index: " + index + ", size: "
+					+ count());
+		}
+		return at(index);
+	}
+
+	/** Also -1 if the position of value does not fit in an int. */
+	@Override
+	public int indexOf(T value) {
+		if (!test(value)) {
+			return -1;
+		}
+		long index = floorDivide(subtract(value, startFrom), stepBy)
+				.longValue();
+		return index <= Integer.MAX_VALUE ? (int) index : -1;
+	}
+
+	@Override
+	public T last() {
+		if (count() == 0) {
+			throw new NoSuchElementException();
+		}
+		T distance = subtract(stopAt, startFrom);
+		if (isZero(mod(distance, stepBy))) {
+			return subtract(stopAt, stepBy);
+		}
+		return add(startFrom, multiply(floorDivide(distance, stepBy), stepBy));
+	}
+
+	/** A new range, not a copy of the elements. */
+	@Override
+	public Wrapper<T> slice(int i, int j) {
+		long count = count();
+		if (i >= 0 && i <= j && j <= count) {
+			return create(at(i), j == count ? stopAt : at(j), stepBy);
+		}
+		return this;
+	}
+
+	/** Element at the given index, without bounds checking. */
+	protected T at(int index) {
+		return add(startFrom, multiply(fromInt(index), stepBy));
+	}
+
+	@Override
+	protected List<Wrapper<T>> split(int parts) {
+		int size = size();
+		parts = Math.min(parts, size);
+		List<Wrapper<T>> split = new ArrayList<Wrapper<T>>(parts);
+		for (int i = 0; i < parts; i++) {
+			T from = at(partStart(size, parts, i));
+			T to = i == parts - 1 ? stopAt : at(partStart(size, parts, i + 1));
+			split.add(create(from, to, stepBy));
+		}
+		return split;
+	}
+
+	@Override
+	public Splitter<T> splitter() {
+		int characteristics = Splitter.ORDERED | Splitter.DISTINCT
+				| Splitter.IMMUTABLE;
+		if (greaterThan(stepBy, 0)) {
+			characteristics |= Splitter.SORTED;
+		}
+		return Splitters.indexed(new Splitters.Indexed<T>() {
+			@Override
+			public T get(int index) {
+				return at(index);
+			}
+		}, size(), characteristics);
 	}
 
 	@Override
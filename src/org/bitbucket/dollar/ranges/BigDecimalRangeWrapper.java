@@ -43,10 +43,10 @@ public class BigDecimalRangeWrapper extends
         return x.add(y);
     }
 
-    // rounds using floor (so any fractions get cut off).
+    // rounds to an integer using floor (so any fractions get cut off).
     @Override
     protected BigDecimal floorDivide(BigDecimal x, BigDecimal y) {
-        return x.divide(y, RoundingMode.FLOOR);
+        return x.divide(y, 0, RoundingMode.FLOOR);
     }
 
     @Override
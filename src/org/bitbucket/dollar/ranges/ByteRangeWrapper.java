@@ -4,7 +4,7 @@ package org.bitbucket.dollar.ranges;
  * @author Adam L. Davis
  * 
  */
-public class ByteRangeWrapper extends AbstractNumberRangeWrapper<Byte> {
+public class ByteRangeWrapper extends AbstractIntRangeWrapper<Byte> {
 
     public ByteRangeWrapper(byte stopAt) {
         super(stopAt < 0 ? stopAt : (byte) 0, stopAt < 0 ? (byte) 0 : stopAt,
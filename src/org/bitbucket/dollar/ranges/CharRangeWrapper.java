@@ -25,6 +25,9 @@ import org.bitbucket.dollar.AbstractWrapper;
 import org.bitbucket.dollar.CharSequenceWrapper;
 import org.bitbucket.dollar.Dollar.RangeWrapper;
 import org.bitbucket.dollar.Dollar.Wrapper;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.Splitter;
+import org.bitbucket.dollar.Splitters;
 
 public class CharRangeWrapper extends AbstractWrapper<Character> implements
         RangeWrapper<Character> {
@@ -96,6 +99,35 @@ public class CharRangeWrapper extends AbstractWrapper<Character> implements
         }
     }
 
+    @Override
+    public Splitter<Character> splitter() {
+        int characteristics = Splitter.ORDERED | Splitter.DISTINCT
+                | Splitter.IMMUTABLE;
+        if (from <= to) {
+            characteristics |= Splitter.SORTED;
+        }
+        return Splitters.indexed(new Splitters.Indexed<Character>() {
+            @Override
+            public Character get(int index) {
+                return (char) (from < to ? from + index : from - index);
+            }
+        }, size(), characteristics);
+    }
+
+    @Override
+    public String join(String separator) {
+        Preconditions.requireNotNull(separator, "separator must be non-null");
+        int size = size();
+        int step = from < to ? 1 : -1;
+        StringBuilder sb = new StringBuilder(Joiner.capacity(size,
+                1 + separator.length()));
+        sb.append(from);
+        for (int i = 1, c = from + step; i < size; i++, c += step) {
+            sb.append(separator).append((char) c);
+        }
+        return sb.toString();
+    }
+
     @Override
     public Wrapper<Character> copy() {
         return new CharRangeWrapper(from, to);
@@ -106,6 +138,11 @@ public class CharRangeWrapper extends AbstractWrapper<Character> implements
         return Math.abs(to - from) + 1;
     }
 
+    @Override
+    protected int knownSize() {
+        return size();
+    }
+
     @Override
     public Wrapper<Character> shuffle(Random random) {
         return new CharSequenceWrapper(join()).shuffle(random);
@@ -155,4 +192,23 @@ public class CharRangeWrapper extends AbstractWrapper<Character> implements
     public boolean contains(Character it) {
         return test(it);
     }
+
+    @Override
+    public Character get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: "
+                    + size());
+        }
+        return (char) (from < to ? from + index : from - index);
+    }
+
+    @Override
+    public int indexOf(Character value) {
+        return test(value) ? Math.abs(value - from) : -1;
+    }
+
+    @Override
+    public Character last() {
+        return to;
+    }
 }
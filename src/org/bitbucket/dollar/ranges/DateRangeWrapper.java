@@ -45,6 +45,13 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
     private final int step;
     private final int field;
 
+    /**
+     * Milliseconds per step for the fields of fixed duration (MILLISECOND to
+     * HOUR), 0 for the others: days, months and years follow the calendar
+     * (daylight saving time, month lengths, leap years).
+     */
+    private final long stepMillis;
+
     /**
      * Primary constructor defining begin, end, step and field.
      * 
@@ -73,6 +80,7 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
         this.step = step;
         this.field = field;
         getDiff(); // throws IllegalArgEx... if not supported field.
+        this.stepMillis = isFixed(field) ? getDiff() * step : 0;
     }
 
     /** Defaults to step of one day. */
@@ -85,9 +93,58 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
         this(begin, end, step, Calendar.DAY_OF_MONTH);
     }
 
+    private static boolean isFixed(int field) {
+        switch (field) {
+        case Calendar.MILLISECOND:
+        case Calendar.SECOND:
+        case Calendar.MINUTE:
+        case Calendar.HOUR_OF_DAY:
+        case Calendar.HOUR:
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /**
+     * Time of the element at the given index, which may be out of the range.
+     * 
+     * @param calendar
+     *            Reused between calls; null if the field is of fixed duration.
+     */
+    private long timeAt(Calendar calendar, int index) {
+        if (stepMillis != 0) {
+            return begin.getTime() + index * stepMillis;
+        }
+        // always from begin, so that Jan 31 + 1 month + 1 month is Mar 31
+        calendar.setTime(begin);
+        calendar.add(field, index * step);
+        return calendar.getTimeInMillis();
+    }
+
+    private Calendar newCalendar() {
+        return stepMillis != 0 ? null : Calendar.getInstance();
+    }
+
+    // whether time comes before end, along the direction of step
+    private boolean beforeEnd(long time) {
+        return step > 0 ? time < end.getTime() : time > end.getTime();
+    }
+
     @Override
     public Iterator<Date> iterator() {
-        return new DateIterator(begin, end);
+        return new DateIterator();
+    }
+
+    @Override
+    protected boolean push(Sink<Date> sink) {
+        Calendar calendar = newCalendar();
+        for (int i = 0, size = size(); i < size; i++) {
+            if (!sink.accept(new Date(timeAt(calendar, i)))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -97,37 +154,37 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
 
     @Override
     public Wrapper<Date> repeat(int n) {
-        final Date newEnd = addToDateUsingField(begin, step * size() * n);
+        final Date newEnd = new Date(timeAt(newCalendar(), size() * n));
 
         return new DateRangeWrapper(begin, newEnd, step, field);
     }
 
+    @Override
+    protected int knownSize() {
+        return size();
+    }
+
     @Override
     public int size() {
-        if (begin.equals(end)) {
-            return 0;
+        if (stepMillis != 0) {
+            long distance = Math.abs(end.getTime() - begin.getTime());
+            long millis = Math.abs(stepMillis);
+            long count = distance / millis + (distance % millis == 0 ? 0 : 1);
+            return (int) Math.min(count, Integer.MAX_VALUE);
         }
-        int guess = diff(begin, end);
 
-        // deals with months and leap years
-        if (step > 0) {
-            while (end.before(addToDateUsingField(begin, guess * step)))
-                guess--;
-        } else if (step < 0) {
-            while (end.after(addToDateUsingField(begin, guess * step)))
-                guess++;
+        // deals with months, leap years and daylight saving time
+        Calendar calendar = newCalendar();
+        int guess = diff(begin, end);
+        while (guess > 0 && !beforeEnd(timeAt(calendar, guess - 1))) {
+            guess--;
+        }
+        while (beforeEnd(timeAt(calendar, guess))) {
+            guess++;
         }
-
         return guess;
     }
 
-    private Date addToDateUsingField(final Date current, int num) {
-        final Calendar calendar = Calendar.getInstance();
-        calendar.setTime(current);
-        calendar.add(field, num);
-        return calendar.getTime();
-    }
-
     private int diff(Date date, Date date2) {
         final long diffMillis = date2.getTime() - date.getTime();
         final long stepDiff = getDiff() * step;
@@ -138,9 +195,10 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
     @Override
     public Wrapper<Date> slice(int i, int j) {
         // from i to j
-        if (i >= 0 && j < size()) {
-            final Date begin = addToDateUsingField(this.begin, i * step);
-            final Date end = addToDateUsingField(this.begin, j * step);
+        if (i >= 0 && i <= j && j <= size()) {
+            Calendar calendar = newCalendar();
+            final Date begin = new Date(timeAt(calendar, i));
+            final Date end = new Date(timeAt(calendar, j));
 
             return new DateRangeWrapper(begin, end, step, field);
         }
@@ -191,24 +249,31 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
         return new ListWrapper<Date>(this).shuffle();
     }
 
+    /** From the last element back to begin. */
     @Override
     public Wrapper<Date> reverse() {
-        return new DateRangeWrapper(end, begin, step * -1, field);
+        int size = size();
+        if (size == 0) {
+            return copy();
+        }
+        Calendar calendar = newCalendar();
+        return new DateRangeWrapper(new Date(timeAt(calendar, size - 1)),
+                new Date(timeAt(calendar, -1)), step * -1, field);
     }
 
+    /**
+     * Iterates from begin (inclusive) to end (exclusive), with one Calendar
+     * for the whole iteration if the field is not of fixed duration.
+     */
     private class DateIterator implements Iterator<Date> {
 
-        private Date current;
-        private final Date end;
-
-        public DateIterator(Date begin, Date end) {
-            this.current = begin;
-            this.end = end;
-        }
+        private final Calendar calendar = newCalendar();
+        private final int size = size();
+        private int i = 0;
 
         @Override
         public boolean hasNext() {
-            return current.before(end);
+            return i < size;
         }
 
         @Override
@@ -216,11 +281,7 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTime(current);
-            calendar.add(field, step);
-            current = calendar.getTime();
-            return current;
+            return new Date(timeAt(calendar, i++));
         }
 
         @Override
@@ -267,4 +328,51 @@ public class DateRangeWrapper extends AbstractWrapper<Date> implements
     public boolean contains(Date it) {
         return test(it);
     }
+
+    @Override
+    public Date get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: "
+                    + size());
+        }
+        return new Date(timeAt(newCalendar(), index));
+    }
+
+    @Override
+    public int indexOf(Date value) {
+        if (!test(value)) {
+            return -1;
+        }
+        long time = value.getTime();
+        if (stepMillis != 0) {
+            long offset = time - begin.getTime();
+            return offset % stepMillis == 0 ? (int) (offset / stepMillis) : -1;
+        }
+
+        // same guess as size(), adjusted for months and leap years
+        Calendar calendar = newCalendar();
+        int index = diff(begin, value);
+        while (index > 0 && compare(timeAt(calendar, index), time) > 0) {
+            index--;
+        }
+        while (compare(timeAt(calendar, index + 1), time) <= 0) {
+            index++;
+        }
+        return timeAt(calendar, index) == time ? index : -1;
+    }
+
+    // compares along the direction of step
+    private int compare(long time, long other) {
+        int comparison = time < other ? -1 : (time == other ? 0 : 1);
+        return step > 0 ? comparison : -comparison;
+    }
+
+    @Override
+    public Date last() {
+        int size = size();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return new Date(timeAt(newCalendar(), size - 1));
+    }
 }
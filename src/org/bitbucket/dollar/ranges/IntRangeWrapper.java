@@ -17,8 +17,9 @@ package org.bitbucket.dollar.ranges;
  * You should have received a copy of the GNU General Public License
  * along with this program. If not, see <http://www.gnu.org/licenses/>.
  */
+import java.util.Iterator;
 
-public class IntRangeWrapper extends AbstractNumberRangeWrapper<Integer> {
+public class IntRangeWrapper extends AbstractIntRangeWrapper<Integer> {
 
     public IntRangeWrapper(int stopAt) {
         super((stopAt < 0) ? stopAt : 0, (stopAt < 0) ? 0 : stopAt, 1);
@@ -40,6 +41,11 @@ public class IntRangeWrapper extends AbstractNumberRangeWrapper<Integer> {
         return new IntRangeWrapper(startFrom, stopAt, stepBy);
     }
 
+    @Override
+    public Iterator<Integer> iterator() {
+        return intIterator();
+    }
+
     @Override
     protected Integer add(Integer x, Integer y) {
         return x + y;
@@ -1,24 +1,42 @@
 package org.bitbucket.dollar.ranges;
 
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.bitbucket.dollar.Dollar;
+import org.bitbucket.dollar.Preconditions;
+import org.bitbucket.dollar.functions.LongBlock;
+import org.bitbucket.dollar.primitives.PrimitiveIterator;
+
 /**
- * @author Adam L. Davis
+ * Iterates, counts and tests membership with long arithmetic instead of the
+ * boxed add and compareTo.
  * 
+ * @author Adam L. Davis
  */
-public class LongRangeWrapper extends AbstractNumberRangeWrapper<Long> {
+public class LongRangeWrapper extends AbstractNumberRangeWrapper<Long>
+        implements Dollar.LongRangeWrapper {
+
+    private final long from;
+    private final long to;
+    private final long step;
 
     public LongRangeWrapper(long stopAt) {
-        super(stopAt < 0 ? stopAt : (long) 0, stopAt < 0 ? (long) 0 : stopAt,
+        this(stopAt < 0 ? stopAt : (long) 0, stopAt < 0 ? (long) 0 : stopAt,
                 (long) 1);
     }
 
     public LongRangeWrapper(long startFrom, long stopAt) {
-        super(startFrom > stopAt ? (long) (startFrom - 1) : startFrom,
+        this(startFrom > stopAt ? (long) (startFrom - 1) : startFrom,
                 startFrom > stopAt ? (long) (stopAt - 1) : stopAt,
                 startFrom > stopAt ? (long) (-1) : (long) 1);
     }
 
     public LongRangeWrapper(Long startFrom, Long stopAt, Long stepBy) {
         super(startFrom, stopAt, stepBy);
+        this.from = startFrom;
+        this.to = stopAt;
+        this.step = stepBy;
     }
 
     @Override
@@ -27,6 +45,103 @@ public class LongRangeWrapper extends AbstractNumberRangeWrapper<Long> {
         return new LongRangeWrapper(startFrom, stopAt, stepBy);
     }
 
+    @Override
+    protected long count() {
+        return count(from, to, step);
+    }
+
+    @Override
+    protected Long at(int index) {
+        return from + index * step;
+    }
+
+    @Override
+    public Iterator<Long> iterator() {
+        return longIterator();
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong longIterator() {
+        return new LongRangeIterator();
+    }
+
+    private class LongRangeIterator implements PrimitiveIterator.OfLong {
+
+        private long next = from;
+        private long remaining = count();
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            long value = next;
+            next += step;
+            remaining--;
+            return value;
+        }
+
+        @Override
+        public Long next() {
+            return nextLong();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException(
+                    "remove() not supported for RangeWrapper");
+        }
+    }
+
+    @Override
+    protected boolean push(Sink<Long> sink) {
+        long value = from;
+        for (long n = count(); n > 0; n--, value += step) {
+            if (!sink.accept(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void forEachLong(LongBlock block) {
+        Preconditions.requireNotNull(block, "block must be non-null");
+        long value = from;
+        for (long n = count(); n > 0; n--, value += step) {
+            block.accept(value);
+        }
+    }
+
+    @Override
+    public boolean contains(long value) {
+        if (step > 0 ? value < from || value >= to : value > from
+                || value <= to) {
+            return false;
+        }
+        return (value - from) % step == 0;
+    }
+
+    @Override
+    public boolean test(Long t) {
+        return contains(t.longValue());
+    }
+
+    @Override
+    public int indexOf(Long value) {
+        if (!contains(value.longValue())) {
+            return -1;
+        }
+        long index = (value - from) / step;
+        return index <= Integer.MAX_VALUE ? (int) index : -1;
+    }
+
     @Override
     protected Long add(Long x, Long y) {
         return (x + y);
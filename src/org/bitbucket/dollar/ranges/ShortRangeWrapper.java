@@ -4,7 +4,7 @@ package org.bitbucket.dollar.ranges;
  * @author Adam L. Davis
  * 
  */
-public class ShortRangeWrapper extends AbstractNumberRangeWrapper<Short> {
+public class ShortRangeWrapper extends AbstractIntRangeWrapper<Short> {
 
     public ShortRangeWrapper(short stopAt) {
         super(stopAt < 0 ? stopAt : (short) 0, stopAt < 0 ? (short) 0 : stopAt,